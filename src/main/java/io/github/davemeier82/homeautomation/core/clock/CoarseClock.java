@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.davemeier82.homeautomation.core.clock;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Clock that reads the system time only once per resolution in a background thread.
+ * Reading the time is a volatile read, the time is accurate to the resolution.
+ */
+public final class CoarseClock extends Clock implements AutoCloseable {
+
+  private final Ticker ticker;
+  private final ZoneId zone;
+
+  public CoarseClock(Duration resolution) {
+    this(new Ticker(resolution), ZoneOffset.UTC);
+  }
+
+  private CoarseClock(Ticker ticker, ZoneId zone) {
+    this.ticker = ticker;
+    this.zone = zone;
+  }
+
+  @Override
+  public ZoneId getZone() {
+    return zone;
+  }
+
+  @Override
+  public Clock withZone(ZoneId zone) {
+    return new CoarseClock(ticker, zone);
+  }
+
+  @Override
+  public long millis() {
+    return ticker.millis;
+  }
+
+  @Override
+  public Instant instant() {
+    return Instant.ofEpochMilli(ticker.millis);
+  }
+
+  public Duration getResolution() {
+    return Duration.ofNanos(ticker.resolutionInNanos);
+  }
+
+  /**
+   * Stops the background thread, the clock does not advance anymore afterwards.
+   */
+  @Override
+  public void close() {
+    ticker.close();
+  }
+
+  private static class Ticker implements Runnable {
+
+    private final long resolutionInNanos;
+    private final Thread thread;
+    private volatile long millis = System.currentTimeMillis();
+    private volatile boolean running = true;
+
+    Ticker(Duration resolution) {
+      if (resolution.isNegative() || resolution.isZero()) {
+        throw new IllegalArgumentException("resolution must be positive");
+      }
+      resolutionInNanos = resolution.toNanos();
+      thread = new Thread(this, "coarse-clock");
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    @Override
+    public void run() {
+      while (running) {
+        LockSupport.parkNanos(resolutionInNanos);
+        millis = System.currentTimeMillis();
+      }
+    }
+
+    void close() {
+      running = false;
+      LockSupport.unpark(thread);
+    }
+  }
+}
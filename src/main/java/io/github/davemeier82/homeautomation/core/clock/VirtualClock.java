@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.davemeier82.homeautomation.core.clock;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clock that only advances when it is told to, e.g. to replay recorded sensor data faster than real time.
+ * Clocks created with {@link #withZone(ZoneId)} share the time with this clock.
+ */
+public final class VirtualClock extends Clock {
+
+  private final AtomicLong millis;
+  private final ZoneId zone;
+
+  public VirtualClock(Instant start) {
+    this(new AtomicLong(start.toEpochMilli()), ZoneOffset.UTC);
+  }
+
+  private VirtualClock(AtomicLong millis, ZoneId zone) {
+    this.millis = millis;
+    this.zone = zone;
+  }
+
+  @Override
+  public ZoneId getZone() {
+    return zone;
+  }
+
+  @Override
+  public Clock withZone(ZoneId zone) {
+    return new VirtualClock(millis, zone);
+  }
+
+  @Override
+  public long millis() {
+    return millis.get();
+  }
+
+  @Override
+  public Instant instant() {
+    return Instant.ofEpochMilli(millis.get());
+  }
+
+  public void setInstant(Instant instant) {
+    millis.set(instant.toEpochMilli());
+  }
+
+  /**
+   * @param duration the time to advance the clock by
+   * @return the new time in epoch milliseconds
+   */
+  public long advance(Duration duration) {
+    return millis.addAndGet(duration.toMillis());
+  }
+}
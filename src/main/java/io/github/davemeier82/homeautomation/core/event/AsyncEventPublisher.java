@@ -0,0 +1,300 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.System.Logger.Level.ERROR;
+
+/**
+ * Publishes the events asynchronously to a delegate, e.g. the synchronous Spring publisher, so that slow listeners do not block the callers.
+ * The events are stored in a preallocated ring buffer that can be written by many threads and is read in batches by a single background thread,
+ * so the events are delivered in the order they were published. If the buffer is full, the callers wait until there is space.
+ */
+public class AsyncEventPublisher implements EventPublisher, AutoCloseable {
+
+  private static final System.Logger log = System.getLogger(AsyncEventPublisher.class.getName());
+  private static final long CLOSED = 1L << 62;
+  private static final long CONSUMER_PARK_NANOS = 1_000_000;
+  private static final long PRODUCER_PARK_NANOS = 50_000;
+
+  /**
+   * How the threads wait for events or for space in the buffer.
+   */
+  public enum WaitStrategy {
+    /**
+     * Lowest latency, but occupies a CPU core even without events. Only suitable if there are more cores than busy threads.
+     */
+    BUSY_SPIN,
+    /**
+     * Gives up the CPU to other threads while waiting, low latency if there are spare cores.
+     */
+    YIELD,
+    /**
+     * Parks the background thread while there are no events, it is woken up at most once per batch. Uses the least CPU.
+     */
+    PARK
+  }
+
+  private final EventPublisher delegate;
+  private final WaitStrategy waitStrategy;
+  private final Object[] events;
+  private final long[] publishTimes;
+  private final AtomicLongArray publishedSequences;
+  private final int mask;
+  private final Object[] batch;
+  private final long[] batchPublishTimes;
+  private final AtomicLong claimedEvents = new AtomicLong();
+  private final AtomicBoolean consumerParked = new AtomicBoolean();
+  private final Thread consumerThread;
+  private final long startTime = System.nanoTime();
+  private final LongAdder publishedEvents = new LongAdder();
+  private final LongAdder rejectedEvents = new LongAdder();
+  private volatile long consumedSequence = -1;
+  private volatile long processedEvents;
+  private volatile long failedEvents;
+  private volatile long totalLatencyInNanos;
+  private volatile long maxLatencyInNanos;
+
+  /**
+   * @param delegate     the publisher that delivers the events to the listeners
+   * @param capacity     the size of the buffer, rounded up to a power of two
+   * @param batchSize    the maximum number of events that are taken from the buffer at once
+   * @param waitStrategy how to wait for events or space
+   */
+  public AsyncEventPublisher(EventPublisher delegate, int capacity, int batchSize, WaitStrategy waitStrategy) {
+    this.delegate = delegate;
+    this.waitStrategy = waitStrategy;
+    int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+    events = new Object[size];
+    publishTimes = new long[size];
+    publishedSequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      publishedSequences.set(i, -1);
+    }
+    mask = size - 1;
+    batch = new Object[Math.min(batchSize, size)];
+    batchPublishTimes = new long[batch.length];
+    consumerThread = new Thread(this::run, "async-event-publisher");
+    consumerThread.setDaemon(true);
+    consumerThread.start();
+  }
+
+  @Override
+  public void publishEvent(Object event) {
+    publish(event, true);
+  }
+
+  /**
+   * Publishes the event without waiting for space in the buffer.
+   *
+   * @param event the event
+   * @return false if the buffer is full and the event was not published
+   */
+  public boolean tryPublishEvent(Object event) {
+    return publish(event, false);
+  }
+
+  private boolean publish(Object event, boolean blocking) {
+    long sequence;
+    while (true) {
+      long current = claimedEvents.get();
+      if ((current & CLOSED) != 0) {
+        rejectedEvents.increment();
+        return true;
+      }
+      sequence = current;
+      if (sequence - events.length > consumedSequence) {
+        if (isConsumerThread()) {
+          // a listener publishes while the buffer is full, waiting would never end
+          deliver(event, System.nanoTime());
+          return true;
+        }
+        if (!blocking) {
+          return false;
+        }
+        waitForSpace();
+      } else if (claimedEvents.compareAndSet(current, current + 1)) {
+        break;
+      }
+    }
+    int index = (int) sequence & mask;
+    events[index] = event;
+    publishTimes[index] = System.nanoTime();
+    publishedSequences.set(index, sequence);
+    publishedEvents.increment();
+    if (consumerParked.get() && consumerParked.compareAndSet(true, false)) {
+      LockSupport.unpark(consumerThread);
+    }
+    return true;
+  }
+
+  /**
+   * @return true if the calling thread is the one that delivers the events, e.g. in a listener
+   */
+  boolean isConsumerThread() {
+    return Thread.currentThread() == consumerThread;
+  }
+
+  @Override
+  public boolean hasSubscribers(Class<?> eventType) {
+    return delegate.hasSubscribers(eventType);
+  }
+
+  /**
+   * Stops accepting events and waits until the pending events are delivered.
+   */
+  @Override
+  public void close() {
+    long current = claimedEvents.get();
+    while ((current & CLOSED) == 0 && !claimedEvents.compareAndSet(current, current | CLOSED)) {
+      current = claimedEvents.get();
+    }
+    LockSupport.unpark(consumerThread);
+    try {
+      consumerThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public int getCapacity() {
+    return events.length;
+  }
+
+  public long getPendingEventCount() {
+    return (claimedEvents.get() & ~CLOSED) - consumedSequence - 1;
+  }
+
+  public long getPublishedEventCount() {
+    return publishedEvents.sum();
+  }
+
+  /**
+   * @return the number of events that were published after the publisher was closed
+   */
+  public long getRejectedEventCount() {
+    return rejectedEvents.sum();
+  }
+
+  public long getProcessedEventCount() {
+    return processedEvents;
+  }
+
+  /**
+   * @return the number of events for which the delegate threw an exception
+   */
+  public long getFailedEventCount() {
+    return failedEvents;
+  }
+
+  /**
+   * @return the average number of processed events per second since the publisher was created
+   */
+  public double getThroughput() {
+    long elapsed = System.nanoTime() - startTime;
+    return elapsed == 0 ? 0 : processedEvents * 1_000_000_000.0 / elapsed;
+  }
+
+  /**
+   * @return the average time from publishing an event until the delegate returned
+   */
+  public Duration getAverageLatency() {
+    long processed = processedEvents;
+    return processed == 0 ? Duration.ZERO : Duration.ofNanos(totalLatencyInNanos / processed);
+  }
+
+  public Duration getMaxLatency() {
+    return Duration.ofNanos(maxLatencyInNanos);
+  }
+
+  private void waitForSpace() {
+    switch (waitStrategy) {
+      case BUSY_SPIN -> Thread.onSpinWait();
+      case YIELD -> Thread.yield();
+      case PARK -> LockSupport.parkNanos(PRODUCER_PARK_NANOS);
+    }
+  }
+
+  private void waitForEvents(long sequence) {
+    switch (waitStrategy) {
+      case BUSY_SPIN -> Thread.onSpinWait();
+      case YIELD -> Thread.yield();
+      case PARK -> {
+        consumerParked.set(true);
+        if (!isPublished(sequence) && (claimedEvents.get() & CLOSED) == 0) {
+          LockSupport.parkNanos(CONSUMER_PARK_NANOS);
+        }
+        consumerParked.set(false);
+      }
+    }
+  }
+
+  private boolean isPublished(long sequence) {
+    return publishedSequences.get((int) sequence & mask) == sequence;
+  }
+
+  private void run() {
+    long next = consumedSequence + 1;
+    while (true) {
+      int count = 0;
+      while (count < batch.length && isPublished(next + count)) {
+        int index = (int) (next + count) & mask;
+        batch[count] = events[index];
+        batchPublishTimes[count] = publishTimes[index];
+        events[index] = null;
+        count++;
+      }
+      if (count == 0) {
+        long claimed = claimedEvents.get();
+        if ((claimed & CLOSED) != 0 && next == (claimed & ~CLOSED)) {
+          return;
+        }
+        waitForEvents(next);
+        continue;
+      }
+      next += count;
+      // frees the slots before delivering, so that the callers are not blocked by slow listeners
+      consumedSequence = next - 1;
+      for (int i = 0; i < count; i++) {
+        deliver(batch[i], batchPublishTimes[i]);
+        batch[i] = null;
+      }
+    }
+  }
+
+  private void deliver(Object event, long publishTime) {
+    try {
+      delegate.publishEvent(event);
+    } catch (RuntimeException e) {
+      failedEvents++;
+      log.log(ERROR, "failed to publish " + event, e);
+    }
+    long latency = System.nanoTime() - publishTime;
+    totalLatencyInNanos += latency;
+    if (latency > maxLatencyInNanos) {
+      maxLatencyInNanos = latency;
+    }
+    processedEvents++;
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.event;
+
+/**
+ * Stores a boolean value without boxing.
+ */
+public class BooleanDataWithTimestamp extends PrimitiveDataWithTimestamp<Boolean> {
+
+  private final boolean value;
+
+  public BooleanDataWithTimestamp(long epochMillis, boolean value) {
+    super(epochMillis);
+    this.value = value;
+  }
+
+  public boolean getBooleanValue() {
+    return value;
+  }
+
+  @Override
+  public Boolean getValue() {
+    return Boolean.valueOf(value);
+  }
+
+  @Override
+  public boolean hasSameValue(DataWithTimestamp<?> other) {
+    if (other instanceof BooleanDataWithTimestamp that) {
+      return value == that.value;
+    }
+    return super.hasSameValue(other);
+  }
+}
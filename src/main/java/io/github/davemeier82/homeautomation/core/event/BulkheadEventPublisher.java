@@ -0,0 +1,137 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import io.github.davemeier82.homeautomation.core.event.ListenerBulkhead.OverflowPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Delivers the events to listeners that are isolated from each other by a {@link ListenerBulkhead}.
+ * A listener that blocks, e.g. while sending a push notification, only delays its own events.
+ */
+public class BulkheadEventPublisher implements EventPublisher, AutoCloseable {
+
+  private final List<ListenerBulkhead<?>> bulkheads = new ArrayList<>();
+  private volatile EventTypeRoutes<ListenerBulkhead<?>, ListenerBulkhead<?>[]> routes = routesOf(List.of());
+  private final Map<ListenerBulkhead<?>, ExecutorService> ownedExecutors = new ConcurrentHashMap<>();
+  private final long closeTimeoutInMillis;
+
+  /**
+   * @param closeTimeoutInMillis how long {@link #close()} waits for each listener to process its pending events
+   */
+  public BulkheadEventPublisher(long closeTimeoutInMillis) {
+    this.closeTimeoutInMillis = closeTimeoutInMillis;
+  }
+
+  /**
+   * Subscribes a listener that runs on its own thread.
+   *
+   * @param name           the name of the listener, used for the thread name and logging
+   * @param eventType      the type of events the listener is interested in
+   * @param listener       the listener
+   * @param capacity       the maximum number of pending events of the listener
+   * @param overflowPolicy what to do if the listener has too many pending events
+   * @return the bulkhead with the metrics of the listener
+   */
+  public <E> ListenerBulkhead<E> subscribe(String name, Class<E> eventType, Consumer<? super E> listener, int capacity, OverflowPolicy overflowPolicy) {
+    ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "bulkhead-" + name);
+      thread.setDaemon(true);
+      return thread;
+    });
+    ListenerBulkhead<E> bulkhead = subscribe(name, eventType, listener, capacity, overflowPolicy, executor);
+    ownedExecutors.put(bulkhead, executor);
+    return bulkhead;
+  }
+
+  /**
+   * Subscribes a listener that runs on the given executor. The events of the listener are never processed concurrently.
+   *
+   * @param name           the name of the listener, used for logging
+   * @param eventType      the type of events the listener is interested in
+   * @param listener       the listener
+   * @param capacity       the maximum number of pending events of the listener
+   * @param overflowPolicy what to do if the listener has too many pending events
+   * @param executor       the executor on which the listener runs
+   * @return the bulkhead with the metrics of the listener
+   */
+  public synchronized <E> ListenerBulkhead<E> subscribe(String name, Class<E> eventType, Consumer<? super E> listener, int capacity, OverflowPolicy overflowPolicy,
+                                                    Executor executor) {
+    ListenerBulkhead<E> bulkhead = new ListenerBulkhead<>(name, eventType, listener, capacity, overflowPolicy, executor);
+    bulkheads.add(bulkhead);
+    routes = routesOf(bulkheads);
+    return bulkhead;
+  }
+
+  public void unsubscribe(ListenerBulkhead<?> bulkhead) {
+    synchronized (this) {
+      bulkheads.remove(bulkhead);
+      routes = routesOf(bulkheads);
+    }
+    bulkhead.close();
+    ExecutorService executor = ownedExecutors.remove(bulkhead);
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+
+  @Override
+  public void publishEvent(Object event) {
+    for (ListenerBulkhead<?> bulkhead : routes.routeOf(event.getClass())) {
+      bulkhead.offer(event);
+    }
+  }
+
+  @Override
+  public boolean hasSubscribers(Class<?> eventType) {
+    return routes.hasSubscribers(eventType);
+  }
+
+  public List<ListenerBulkhead<?>> getBulkheads() {
+    return routes.getSubscribers();
+  }
+
+  /**
+   * Stops accepting events and waits until the listeners with their own thread processed their pending events.
+   */
+  @Override
+  public void close() {
+    routes.getSubscribers().forEach(ListenerBulkhead::close);
+    ownedExecutors.values().forEach(ExecutorService::shutdown);
+    try {
+      for (ExecutorService executor : ownedExecutors.values()) {
+        executor.awaitTermination(closeTimeoutInMillis, TimeUnit.MILLISECONDS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static EventTypeRoutes<ListenerBulkhead<?>, ListenerBulkhead<?>[]> routesOf(List<ListenerBulkhead<?>> bulkheads) {
+    return new EventTypeRoutes<>(bulkheads, ListenerBulkhead::getEventType, matching -> matching.toArray(ListenerBulkhead<?>[]::new));
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueKey;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.lang.System.Logger.Level.ERROR;
+
+/**
+ * Publishes only the newest updated event per device property and value type of each window, at the end of the window.
+ * All other events, including the changed events, are published immediately.
+ * Useful in front of listeners that only need the current values, e.g. dashboards.
+ */
+public class CoalescingEventPublisher implements EventPublisher, AutoCloseable {
+
+  private static final System.Logger log = System.getLogger(CoalescingEventPublisher.class.getName());
+
+  private final EventPublisher delegate;
+  private final ScheduledExecutorService scheduler;
+  private final boolean ownsScheduler;
+  private final ScheduledFuture<?> flushTask;
+  private final Map<DevicePropertyValueKey, Object> pendingEvents = new ConcurrentHashMap<>();
+  private final LongAdder receivedUpdatedEvents = new LongAdder();
+  private final LongAdder publishedUpdatedEvents = new LongAdder();
+  private final LongAdder passedThroughEvents = new LongAdder();
+  private final LongAdder failedEvents = new LongAdder();
+  private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+  private volatile boolean closed;
+
+  public CoalescingEventPublisher(EventPublisher delegate, Duration window) {
+    this(delegate, window, Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "coalescing-event-publisher");
+      thread.setDaemon(true);
+      return thread;
+    }), true);
+  }
+
+  public CoalescingEventPublisher(EventPublisher delegate, Duration window, ScheduledExecutorService scheduler) {
+    this(delegate, window, scheduler, false);
+  }
+
+  private CoalescingEventPublisher(EventPublisher delegate, Duration window, ScheduledExecutorService scheduler, boolean ownsScheduler) {
+    this.delegate = delegate;
+    this.scheduler = scheduler;
+    this.ownsScheduler = ownsScheduler;
+    long windowInNanos = window.toNanos();
+    flushTask = scheduler.scheduleAtFixedRate(this::flush, windowInNanos, windowInNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void publishEvent(Object event) {
+    if (event instanceof DevicePropertyUpdatedEvent && event instanceof DevicePropertyEvent<?> devicePropertyEvent) {
+      // close waits for the puts that started before it, so that its flush publishes them
+      closeLock.readLock().lock();
+      try {
+        if (!closed) {
+          receivedUpdatedEvents.increment();
+          pendingEvents.put(new DevicePropertyValueKey(devicePropertyEvent.getDevicePropertyId(), devicePropertyEvent.getValueType()), event);
+          return;
+        }
+      } finally {
+        closeLock.readLock().unlock();
+      }
+    }
+    passedThroughEvents.increment();
+    delegate.publishEvent(event);
+  }
+
+  @Override
+  public boolean hasSubscribers(Class<?> eventType) {
+    return delegate.hasSubscribers(eventType);
+  }
+
+  /**
+   * Publishes the pending updated events now.
+   */
+  public void flush() {
+    for (DevicePropertyValueKey key : pendingEvents.keySet()) {
+      Object event = pendingEvents.remove(key);
+      if (event != null) {
+        publishedUpdatedEvents.increment();
+        // an exception must not escape, the scheduler would not run the flush again
+        try {
+          delegate.publishEvent(event);
+        } catch (RuntimeException e) {
+          failedEvents.increment();
+          log.log(ERROR, "failed to publish " + event, e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Publishes the pending updated events, afterwards all events are published immediately.
+   */
+  @Override
+  public void close() {
+    closeLock.writeLock().lock();
+    try {
+      closed = true;
+    } finally {
+      closeLock.writeLock().unlock();
+    }
+    flushTask.cancel(false);
+    flush();
+    if (ownsScheduler) {
+      scheduler.shutdown();
+    }
+  }
+
+  public long getReceivedUpdatedEventCount() {
+    return receivedUpdatedEvents.sum();
+  }
+
+  public long getPublishedUpdatedEventCount() {
+    return publishedUpdatedEvents.sum();
+  }
+
+  /**
+   * @return the number of events that were published immediately, e.g. changed events
+   */
+  public long getPassedThroughEventCount() {
+    return passedThroughEvents.sum();
+  }
+
+  /**
+   * @return the number of coalesced events for which the delegate threw an exception
+   */
+  public long getFailedEventCount() {
+    return failedEvents.sum();
+  }
+
+  /**
+   * @return the share of updated events that were not published because a newer event of the same device property replaced them, between 0 and 1
+   */
+  public double getReductionRatio() {
+    long received = receivedUpdatedEvents.sum();
+    return received == 0 ? 0 : 1 - (double) (publishedUpdatedEvents.sum() + pendingEvents.size()) / received;
+  }
+}
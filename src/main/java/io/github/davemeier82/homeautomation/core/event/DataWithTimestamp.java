@@ -16,31 +16,187 @@
 
 package io.github.davemeier82.homeautomation.core.event;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
 
 /**
  * Represents a value at a defined time.
+ * The time is stored as epoch milliseconds (plus the sub-millisecond nanos), the {@link OffsetDateTime} is only created when it is requested.
  */
 public class DataWithTimestamp<T> {
 
-  private final OffsetDateTime dateTime;
+  private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+  private static final Clock SYSTEM_CLOCK = Clock.systemUTC();
+  private static final Deque<StackedClockOverride> overrides = new ArrayDeque<>();
+
+  private static volatile Clock clock = SYSTEM_CLOCK;
+
+  private final long epochMillis;
+  private final int nanoOfMilli;
   private final T value;
+  private OffsetDateTime dateTime;
 
+  /**
+   * Creates the data with the current time of the system clock or the clock set with {@link #overrideClock(Clock)}.
+   *
+   * @param value the value
+   */
   public DataWithTimestamp(T value) {
+    this(clock.millis(), value);
+  }
+
+  public DataWithTimestamp(long epochMillis, T value) {
+    this.epochMillis = epochMillis;
     this.value = value;
-    dateTime = OffsetDateTime.now();
+    nanoOfMilli = 0;
   }
 
   public DataWithTimestamp(OffsetDateTime dateTime, T value) {
     this.dateTime = dateTime;
     this.value = value;
+    if (dateTime == null) {
+      epochMillis = NO_TIMESTAMP;
+      nanoOfMilli = 0;
+    } else {
+      int nano = dateTime.getNano();
+      epochMillis = dateTime.toEpochSecond() * 1000 + nano / 1_000_000;
+      nanoOfMilli = nano % 1_000_000;
+    }
   }
 
   public OffsetDateTime getDateTime() {
-    return dateTime;
+    OffsetDateTime result = dateTime;
+    if (result == null && epochMillis != NO_TIMESTAMP) {
+      result = OffsetDateTime.ofInstant(Instant.ofEpochSecond(Math.floorDiv(epochMillis, 1000), Math.floorMod(epochMillis, 1000) * 1_000_000L + nanoOfMilli), ZoneId.systemDefault());
+      dateTime = result;
+    }
+    return result;
+  }
+
+  /**
+   * @return the time as milliseconds since the epoch or {@link Long#MIN_VALUE} if there is no time
+   */
+  public long getEpochMillis() {
+    return epochMillis;
   }
 
   public T getValue() {
     return value;
   }
+
+  /**
+   * Compares the values, ignoring the timestamps.
+   *
+   * @param other the data to compare with
+   * @return true if both values are equal
+   */
+  public boolean hasSameValue(DataWithTimestamp<?> other) {
+    return Objects.equals(getValue(), other.getValue());
+  }
+
+  /**
+   * Compares the timestamps, ignoring the values.
+   *
+   * @param other the data to compare with
+   * @return true if both refer to the same instant or both have no time
+   */
+  public boolean hasSameTimestamp(DataWithTimestamp<?> other) {
+    return epochMillis == other.epochMillis && nanoOfMilli == other.nanoOfMilli;
+  }
+
+  /**
+   * @param other the data to compare with
+   * @return true if this is strictly older than other, false if one of them has no time
+   */
+  public boolean isBefore(DataWithTimestamp<?> other) {
+    if (epochMillis == NO_TIMESTAMP || other.epochMillis == NO_TIMESTAMP) {
+      return false;
+    }
+    return epochMillis < other.epochMillis || (epochMillis == other.epochMillis && nanoOfMilli < other.nanoOfMilli);
+  }
+
+  /**
+   * Creates the data with the current time of the clock, e.g. of a component that got the clock injected.
+   *
+   * @param clock the clock, e.g. a {@link io.github.davemeier82.homeautomation.core.clock.CoarseClock}
+   * @param value the value
+   * @param <T>   the type of the value
+   * @return the data
+   */
+  public static <T> DataWithTimestamp<T> now(Clock clock, T value) {
+    return new DataWithTimestamp<>(clock.millis(), value);
+  }
+
+  /**
+   * Replaces the clock used to timestamp data that is created without a time or clock until the returned override is closed, e.g. in a test or while replaying recorded data:
+   * <pre>{@code
+   * try (DataWithTimestamp.ClockOverride override = DataWithTimestamp.overrideClock(virtualClock)) {
+   *   ...
+   * }
+   * }</pre>
+   * Prefer passing the clock to {@link #now(Clock, Object)}, the override applies to all threads.
+   *
+   * @param clock the clock, e.g. a {@link io.github.davemeier82.homeautomation.core.clock.CoarseClock} or a {@link io.github.davemeier82.homeautomation.core.clock.VirtualClock}
+   * @return the override that restores the previous clock when it is closed. Nested overrides can be closed in any order, the clock of the most recent override
+   * that is still open is used.
+   */
+  public static ClockOverride overrideClock(Clock clock) {
+    StackedClockOverride override = new StackedClockOverride(Objects.requireNonNull(clock));
+    synchronized (overrides) {
+      overrides.addLast(override);
+      DataWithTimestamp.clock = clock;
+    }
+    return override;
+  }
+
+  /**
+   * Restores the system clock, e.g. after a test that did not close its override.
+   */
+  public static void resetClock() {
+    synchronized (overrides) {
+      overrides.clear();
+      clock = SYSTEM_CLOCK;
+    }
+  }
+
+  public static Clock getClock() {
+    return clock;
+  }
+
+  public static OffsetDateTime toOffsetDateTime(long epochMillis) {
+    return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+  }
+
+  /**
+   * Restores the previous clock when it is closed.
+   */
+  public interface ClockOverride extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  private static final class StackedClockOverride implements ClockOverride {
+
+    private final Clock clock;
+
+    StackedClockOverride(Clock clock) {
+      this.clock = clock;
+    }
+
+    @Override
+    public void close() {
+      synchronized (overrides) {
+        // closing twice or after a reset does nothing
+        if (overrides.removeFirstOccurrence(this)) {
+          DataWithTimestamp.clock = overrides.isEmpty() ? SYSTEM_CLOCK : overrides.peekLast().clock;
+        }
+      }
+    }
+  }
 }
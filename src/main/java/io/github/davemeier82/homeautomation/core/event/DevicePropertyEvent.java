@@ -44,6 +44,8 @@ public interface DevicePropertyEvent<T> {
   String getMessageKey();
 
   /**
+   * The returned array can be shared between calls and must not be modified.
+   *
    * @return optional arguments for the @{link {@link DevicePropertyEvent#getMessageKey()}
    */
   Object[] getMessageArgs();
@@ -52,6 +54,20 @@ public interface DevicePropertyEvent<T> {
 
   OffsetDateTime getNewTimestamp();
 
+  /**
+   * @return the timestamp of the new value in milliseconds since the epoch
+   */
+  default long getNewEpochMillis() {
+    return getNewTimestamp().toInstant().toEpochMilli();
+  }
+
+  /**
+   * @return the new value of a numeric event without boxing it, {@link Double#NaN} if the value is not a number
+   */
+  default double getNewValueAsDouble() {
+    return getNewValue() instanceof Number number ? number.doubleValue() : Double.NaN;
+  }
+
   /**
    * @return the value of the sensor before this event, if available
    */
@@ -62,6 +78,20 @@ public interface DevicePropertyEvent<T> {
    */
   Optional<OffsetDateTime> getPreviousTimestamp();
 
+  /**
+   * @return the value of the sensor before this event or null if not available
+   */
+  default T getPreviousValueOrNull() {
+    return getPreviousValue().orElse(null);
+  }
+
+  /**
+   * @return the previous value of a numeric event without boxing it, {@link Double#NaN} if not available or not a number
+   */
+  default double getPreviousValueAsDouble() {
+    return getPreviousValueOrNull() instanceof Number number ? number.doubleValue() : Double.NaN;
+  }
+
   /**
    * @return true if the previous value is set
    */
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.event;
+
+/**
+ * Stores a double value without boxing.
+ */
+public class DoubleDataWithTimestamp extends PrimitiveDataWithTimestamp<Double> implements NumericDataWithTimestamp {
+
+  private final double value;
+
+  public DoubleDataWithTimestamp(long epochMillis, double value) {
+    super(epochMillis);
+    this.value = value;
+  }
+
+  @Override
+  public double getDoubleValue() {
+    return value;
+  }
+
+  @Override
+  public Double getValue() {
+    return Double.valueOf(value);
+  }
+
+  @Override
+  public boolean hasSameValue(DataWithTimestamp<?> other) {
+    if (other instanceof DoubleDataWithTimestamp that) {
+      return Double.compare(value, that.value) == 0;
+    }
+    return super.hasSameValue(other);
+  }
+}
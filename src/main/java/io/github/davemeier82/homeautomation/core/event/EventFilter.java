@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import io.github.davemeier82.homeautomation.core.device.DeviceId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueType;
+
+import java.util.Objects;
+
+/**
+ * Declares which events a subscription of the {@link IndexedEventPublisher} receives. All declared conditions have to match.
+ * Filters are immutable, the with methods return a copy.
+ */
+public final class EventFilter {
+
+  private final Class<?> eventType;
+  private final DevicePropertyValueType valueType;
+  private final String deviceTypeName;
+  private final DeviceId deviceId;
+  private final DevicePropertyId devicePropertyId;
+  private final double lowerThreshold;
+  private final double upperThreshold;
+
+  private EventFilter(Class<?> eventType,
+                      DevicePropertyValueType valueType,
+                      String deviceTypeName,
+                      DeviceId deviceId,
+                      DevicePropertyId devicePropertyId,
+                      double lowerThreshold,
+                      double upperThreshold
+  ) {
+    this.eventType = Objects.requireNonNull(eventType);
+    this.valueType = valueType;
+    this.deviceTypeName = deviceTypeName;
+    this.deviceId = deviceId;
+    this.devicePropertyId = devicePropertyId;
+    this.lowerThreshold = lowerThreshold;
+    this.upperThreshold = upperThreshold;
+  }
+
+  /**
+   * @param eventType the type of the events, usually an event interface like {@link TemperatureChangedEvent}
+   * @return a filter that matches all events of the type
+   */
+  public static EventFilter forEventType(Class<?> eventType) {
+    return new EventFilter(eventType, null, null, null, null, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+  }
+
+  public EventFilter withValueType(DevicePropertyValueType valueType) {
+    return new EventFilter(eventType, valueType, deviceTypeName, deviceId, devicePropertyId, lowerThreshold, upperThreshold);
+  }
+
+  public EventFilter withDeviceTypeName(String deviceTypeName) {
+    return new EventFilter(eventType, valueType, deviceTypeName, deviceId, devicePropertyId, lowerThreshold, upperThreshold);
+  }
+
+  public EventFilter withDeviceId(DeviceId deviceId) {
+    return new EventFilter(eventType, valueType, deviceTypeName, deviceId, devicePropertyId, lowerThreshold, upperThreshold);
+  }
+
+  public EventFilter withDevicePropertyId(DevicePropertyId devicePropertyId) {
+    return new EventFilter(eventType, valueType, deviceTypeName, deviceId, devicePropertyId, lowerThreshold, upperThreshold);
+  }
+
+  /**
+   * @param threshold the new value of the event has to be greater than the threshold
+   * @return the filter with the threshold
+   */
+  public EventFilter withValueAbove(double threshold) {
+    return new EventFilter(eventType, valueType, deviceTypeName, deviceId, devicePropertyId, threshold, upperThreshold);
+  }
+
+  /**
+   * @param threshold the new value of the event has to be less than the threshold
+   * @return the filter with the threshold
+   */
+  public EventFilter withValueBelow(double threshold) {
+    return new EventFilter(eventType, valueType, deviceTypeName, deviceId, devicePropertyId, lowerThreshold, threshold);
+  }
+
+  public Class<?> getEventType() {
+    return eventType;
+  }
+
+  public DevicePropertyValueType getValueType() {
+    return valueType;
+  }
+
+  public String getDeviceTypeName() {
+    return deviceTypeName;
+  }
+
+  public DeviceId getDeviceId() {
+    return deviceId;
+  }
+
+  public DevicePropertyId getDevicePropertyId() {
+    return devicePropertyId;
+  }
+
+  public double getLowerThreshold() {
+    return lowerThreshold;
+  }
+
+  public double getUpperThreshold() {
+    return upperThreshold;
+  }
+
+  public boolean hasLowerThreshold() {
+    return lowerThreshold != Double.NEGATIVE_INFINITY;
+  }
+
+  public boolean hasUpperThreshold() {
+    return upperThreshold != Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * @param event the event
+   * @return true if all conditions of the filter match the event
+   */
+  public boolean matches(Object event) {
+    if (!eventType.isInstance(event)) {
+      return false;
+    }
+    if (valueType == null && deviceTypeName == null && deviceId == null && devicePropertyId == null && !hasLowerThreshold() && !hasUpperThreshold()) {
+      return true;
+    }
+    if (!(event instanceof DevicePropertyEvent<?> devicePropertyEvent)) {
+      return false;
+    }
+    DevicePropertyId eventDevicePropertyId = devicePropertyEvent.getDevicePropertyId();
+    if (valueType != null && !valueType.equals(devicePropertyEvent.getValueType())) {
+      return false;
+    }
+    if (devicePropertyId != null && !devicePropertyId.equals(eventDevicePropertyId)) {
+      return false;
+    }
+    if (deviceId != null && (eventDevicePropertyId == null || !deviceId.equals(eventDevicePropertyId.deviceId()))) {
+      return false;
+    }
+    if (deviceTypeName != null && (eventDevicePropertyId == null || !deviceTypeName.equals(eventDevicePropertyId.deviceId().type().getTypeName()))) {
+      return false;
+    }
+    if (hasLowerThreshold() || hasUpperThreshold()) {
+      double value = devicePropertyEvent.getNewValueAsDouble();
+      return value > lowerThreshold && value < upperThreshold;
+    }
+    return true;
+  }
+}
@@ -19,4 +19,15 @@ package io.github.davemeier82.homeautomation.core.event;
 public interface EventPublisher {
 
   void publishEvent(Object event);
+
+  /**
+   * Allows publishers to skip building events that nobody would receive.
+   * Implementations have to answer this cheaply as it is queried on every value update.
+   *
+   * @param eventType the type of the event, usually an event interface like {@link TemperatureUpdatedEvent}
+   * @return false if no subscriber would receive an event of this type
+   */
+  default boolean hasSubscribers(Class<?> eventType) {
+    return true;
+  }
 }
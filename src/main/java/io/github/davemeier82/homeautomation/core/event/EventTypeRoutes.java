@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The subscribers of the publishers that route by event type, e.g. {@link TypeDispatchingEventPublisher}.
+ * The route of an event class and whether an event type has subscribers are computed once per class and cached in a {@link ClassValue}.
+ * An instance is immutable, the publishers replace it when subscribers are added or removed.
+ *
+ * @param <S> the type of the subscribers
+ * @param <R> the type of the route, e.g. an array of the matching subscribers
+ */
+final class EventTypeRoutes<S, R> {
+
+  private final List<S> subscribers;
+  private final ClassValue<R> routesByClass;
+  private final ClassValue<Boolean> subscribedByType;
+
+  /**
+   * @param subscribers the subscribers
+   * @param eventTypeOf the event type a subscriber is interested in
+   * @param toRoute     creates the route from the subscribers that receive an event class, in the order of the subscribers
+   */
+  EventTypeRoutes(List<S> subscribers, Function<? super S, Class<?>> eventTypeOf, Function<List<S>, R> toRoute) {
+    this.subscribers = List.copyOf(subscribers);
+    routesByClass = new ClassValue<>() {
+      @Override
+      protected R computeValue(Class<?> eventClass) {
+        return toRoute.apply(EventTypeRoutes.this.subscribers.stream().filter(s -> eventTypeOf.apply(s).isAssignableFrom(eventClass)).toList());
+      }
+    };
+    subscribedByType = new ClassValue<>() {
+      @Override
+      protected Boolean computeValue(Class<?> eventType) {
+        return EventTypeRoutes.this.subscribers.stream().anyMatch(s -> mayReceive(eventTypeOf.apply(s), eventType));
+      }
+    };
+  }
+
+  /**
+   * @param eventClass the concrete class of an event
+   * @return the route to the subscribers that receive events of the class
+   */
+  R routeOf(Class<?> eventClass) {
+    return routesByClass.get(eventClass);
+  }
+
+  /**
+   * @param eventType the type of events, can be an interface or a super class of the published events
+   * @return true if a subscriber could receive events of the type
+   */
+  boolean hasSubscribers(Class<?> eventType) {
+    return subscribedByType.get(eventType);
+  }
+
+  List<S> getSubscribers() {
+    return subscribers;
+  }
+
+  /**
+   * An event of the type can reach the subscriber if its type is a subtype of the subscribed type, or if the event type is a super type of the subscribed type
+   * and the concrete event class implements both, e.g. a subscriber of temperature events could receive events published as device property events.
+   *
+   * @param subscribedType the type the subscriber is interested in
+   * @param eventType      the type of events
+   * @return true if the subscriber could receive events of the type
+   */
+  static boolean mayReceive(Class<?> subscribedType, Class<?> eventType) {
+    return subscribedType.isAssignableFrom(eventType) || eventType.isAssignableFrom(subscribedType);
+  }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import io.github.davemeier82.homeautomation.core.device.DeviceId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+import static java.lang.System.Logger.Level.ERROR;
+
+/**
+ * Delivers the events synchronously to the subscriptions whose {@link EventFilter} matches.
+ * The filters are compiled into an index, so that an event is only matched against candidate subscriptions instead of all of them:
+ * each subscription is stored under its most selective key (device property id, device id, device type, value type or event type) and
+ * within a key the subscriptions with thresholds are sorted by threshold, so that the matching ones are found with a binary search.
+ * The index is rebuilt when subscriptions are added or removed, which is expected to be rare compared to publishing.
+ */
+public class IndexedEventPublisher implements EventPublisher {
+
+  private static final System.Logger log = System.getLogger(IndexedEventPublisher.class.getName());
+
+  private final List<Subscription> subscriptions = new ArrayList<>();
+  private volatile Index index = new Index(List.of());
+
+  public synchronized Subscription subscribe(EventFilter filter, Consumer<Object> listener) {
+    Subscription subscription = new Subscription(filter, listener);
+    subscriptions.add(subscription);
+    index = new Index(subscriptions);
+    return subscription;
+  }
+
+  public synchronized void unsubscribe(Subscription subscription) {
+    if (subscriptions.remove(subscription)) {
+      index = new Index(subscriptions);
+    }
+  }
+
+  @Override
+  public void publishEvent(Object event) {
+    index.dispatch(event);
+  }
+
+  @Override
+  public boolean hasSubscribers(Class<?> eventType) {
+    return index.byEventType.hasSubscribers(eventType);
+  }
+
+  public int getSubscriptionCount() {
+    return index.subscriptions.size();
+  }
+
+  public static final class Subscription {
+
+    private final EventFilter filter;
+    private final Consumer<Object> listener;
+
+    private Subscription(EventFilter filter, Consumer<Object> listener) {
+      this.filter = filter;
+      this.listener = listener;
+    }
+
+    public EventFilter getFilter() {
+      return filter;
+    }
+
+    void deliverIfMatches(Object event) {
+      if (filter.matches(event)) {
+        try {
+          listener.accept(event);
+        } catch (RuntimeException e) {
+          log.log(ERROR, "failed to deliver " + event, e);
+        }
+      }
+    }
+  }
+
+  private static final class Index {
+
+    private final List<Subscription> subscriptions;
+    private final Map<DevicePropertyId, Bucket> byDevicePropertyId;
+    private final Map<DeviceId, Bucket> byDeviceId;
+    private final Map<String, Bucket> byDeviceTypeName;
+    private final Map<DevicePropertyValueType, Bucket> byValueType;
+    // routes to the subscriptions that only declare an event type, whether there are subscribers of a type is answered for all subscriptions
+    private final EventTypeRoutes<Subscription, Bucket> byEventType;
+
+    Index(List<Subscription> subscriptions) {
+      this.subscriptions = List.copyOf(subscriptions);
+      Map<DevicePropertyId, List<Subscription>> devicePropertyIdSubscriptions = new HashMap<>();
+      Map<DeviceId, List<Subscription>> deviceIdSubscriptions = new HashMap<>();
+      Map<String, List<Subscription>> deviceTypeNameSubscriptions = new HashMap<>();
+      Map<DevicePropertyValueType, List<Subscription>> valueTypeSubscriptions = new HashMap<>();
+      List<Subscription> onlyEventTypeSubscriptions = new ArrayList<>();
+      for (Subscription subscription : subscriptions) {
+        EventFilter filter = subscription.filter;
+        if (filter.getDevicePropertyId() != null) {
+          devicePropertyIdSubscriptions.computeIfAbsent(filter.getDevicePropertyId(), k -> new ArrayList<>()).add(subscription);
+        } else if (filter.getDeviceId() != null) {
+          deviceIdSubscriptions.computeIfAbsent(filter.getDeviceId(), k -> new ArrayList<>()).add(subscription);
+        } else if (filter.getDeviceTypeName() != null) {
+          deviceTypeNameSubscriptions.computeIfAbsent(filter.getDeviceTypeName(), k -> new ArrayList<>()).add(subscription);
+        } else if (filter.getValueType() != null) {
+          valueTypeSubscriptions.computeIfAbsent(filter.getValueType(), k -> new ArrayList<>()).add(subscription);
+        } else {
+          onlyEventTypeSubscriptions.add(subscription);
+        }
+      }
+      byDevicePropertyId = toBuckets(devicePropertyIdSubscriptions);
+      byDeviceId = toBuckets(deviceIdSubscriptions);
+      byDeviceTypeName = toBuckets(deviceTypeNameSubscriptions);
+      byValueType = toBuckets(valueTypeSubscriptions);
+      Set<Subscription> eventTypeSubscriptions = Set.copyOf(onlyEventTypeSubscriptions);
+      byEventType = new EventTypeRoutes<>(this.subscriptions, s -> s.filter.getEventType(),
+          matching -> new Bucket(matching.stream().filter(eventTypeSubscriptions::contains).toList()));
+    }
+
+    private static <K> Map<K, Bucket> toBuckets(Map<K, List<Subscription>> subscriptions) {
+      Map<K, Bucket> buckets = new HashMap<>();
+      subscriptions.forEach((key, value) -> buckets.put(key, new Bucket(value)));
+      return buckets;
+    }
+
+    void dispatch(Object event) {
+      if (event instanceof DevicePropertyEvent<?> devicePropertyEvent) {
+        double value = devicePropertyEvent.getNewValueAsDouble();
+        DevicePropertyId devicePropertyId = devicePropertyEvent.getDevicePropertyId();
+        if (devicePropertyId != null) {
+          dispatch(byDevicePropertyId, devicePropertyId, event, value);
+          dispatch(byDeviceId, devicePropertyId.deviceId(), event, value);
+          if (!byDeviceTypeName.isEmpty()) {
+            dispatch(byDeviceTypeName, devicePropertyId.deviceId().type().getTypeName(), event, value);
+          }
+        }
+        dispatch(byValueType, devicePropertyEvent.getValueType(), event, value);
+        byEventType.routeOf(event.getClass()).dispatch(event, value);
+      } else {
+        byEventType.routeOf(event.getClass()).dispatch(event, Double.NaN);
+      }
+    }
+
+    private static <K> void dispatch(Map<K, Bucket> buckets, K key, Object event, double value) {
+      Bucket bucket = key == null ? null : buckets.get(key);
+      if (bucket != null) {
+        bucket.dispatch(event, value);
+      }
+    }
+  }
+
+  /**
+   * The subscriptions of one key. Subscriptions with a lower threshold match a prefix of the ones sorted by lower threshold,
+   * subscriptions with only an upper threshold match a suffix of the ones sorted by upper threshold.
+   */
+  private static final class Bucket {
+
+    private final Subscription[] withoutThreshold;
+    private final Subscription[] byLowerThreshold;
+    private final double[] lowerThresholds;
+    private final Subscription[] byUpperThreshold;
+    private final double[] upperThresholds;
+
+    Bucket(List<Subscription> subscriptions) {
+      List<Subscription> lower = new ArrayList<>();
+      List<Subscription> upper = new ArrayList<>();
+      List<Subscription> none = new ArrayList<>();
+      for (Subscription subscription : subscriptions) {
+        if (subscription.filter.hasLowerThreshold()) {
+          lower.add(subscription);
+        } else if (subscription.filter.hasUpperThreshold()) {
+          upper.add(subscription);
+        } else {
+          none.add(subscription);
+        }
+      }
+      lower.sort(Comparator.comparingDouble(s -> s.filter.getLowerThreshold()));
+      upper.sort(Comparator.comparingDouble(s -> s.filter.getUpperThreshold()));
+      withoutThreshold = none.toArray(new Subscription[0]);
+      byLowerThreshold = lower.toArray(new Subscription[0]);
+      lowerThresholds = thresholds(lower, EventFilter::getLowerThreshold);
+      byUpperThreshold = upper.toArray(new Subscription[0]);
+      upperThresholds = thresholds(upper, EventFilter::getUpperThreshold);
+    }
+
+    private static double[] thresholds(List<Subscription> subscriptions, ToDoubleFunction<EventFilter> threshold) {
+      return subscriptions.stream().mapToDouble(s -> threshold.applyAsDouble(s.filter)).toArray();
+    }
+
+    void dispatch(Object event, double value) {
+      for (Subscription subscription : withoutThreshold) {
+        subscription.deliverIfMatches(event);
+      }
+      if (Double.isNaN(value)) {
+        return;
+      }
+      // lower thresholds below the value
+      for (int i = 0, end = firstIndexNotBelow(lowerThresholds, value); i < end; i++) {
+        byLowerThreshold[i].deliverIfMatches(event);
+      }
+      // upper thresholds above the value
+      for (int i = firstIndexAbove(upperThresholds, value); i < byUpperThreshold.length; i++) {
+        byUpperThreshold[i].deliverIfMatches(event);
+      }
+    }
+
+    private static int firstIndexNotBelow(double[] thresholds, double value) {
+      int low = 0;
+      int high = thresholds.length;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (thresholds[middle] < value) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+
+    private static int firstIndexAbove(double[] thresholds, double value) {
+      int low = 0;
+      int high = thresholds.length;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (thresholds[middle] <= value) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+  }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static java.lang.System.Logger.Level.ERROR;
+
+/**
+ * Bounded queue in front of a single listener that is drained on the executor of the listener.
+ * A slow listener only fills its own queue, what happens when the queue is full is defined by the {@link OverflowPolicy}.
+ * The events are delivered to the listener one after the other in the order they were offered.
+ */
+public class ListenerBulkhead<E> {
+
+  private static final System.Logger log = System.getLogger(ListenerBulkhead.class.getName());
+
+  public enum OverflowPolicy {
+    /**
+     * The publisher waits until there is space in the queue.
+     */
+    BLOCK,
+    /**
+     * The oldest pending event is dropped.
+     */
+    DROP_OLDEST,
+    /**
+     * The new event replaces the pending event of the same type and device property.
+     * The oldest pending event is dropped if there is none or if the event does not belong to a device property.
+     */
+    COALESCE_BY_PROPERTY
+  }
+
+  private final String name;
+  private final Class<E> eventType;
+  private final Consumer<? super E> listener;
+  private final int capacity;
+  private final OverflowPolicy overflowPolicy;
+  private final Executor executor;
+  private final ArrayDeque<Entry> queue;
+  private final Map<CoalescingKey, Entry> pendingByKey = new HashMap<>();
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notFull = lock.newCondition();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final LongAdder offeredEvents = new LongAdder();
+  private final LongAdder droppedEvents = new LongAdder();
+  private final LongAdder coalescedEvents = new LongAdder();
+  private final LongAdder processedEvents = new LongAdder();
+  private final LongAdder failedEvents = new LongAdder();
+  private final LongAdder totalProcessingTimeInNanos = new LongAdder();
+  private volatile long maxProcessingTimeInNanos;
+  private volatile Thread drainingThread;
+  private boolean closed;
+
+  public ListenerBulkhead(String name, Class<E> eventType, Consumer<? super E> listener, int capacity, OverflowPolicy overflowPolicy, Executor executor) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.name = name;
+    this.eventType = eventType;
+    this.listener = listener;
+    this.capacity = capacity;
+    this.overflowPolicy = overflowPolicy;
+    this.executor = executor;
+    queue = new ArrayDeque<>(capacity);
+  }
+
+  /**
+   * @param event the event
+   * @return true if the listener is interested in the event
+   */
+  public boolean accepts(Object event) {
+    return eventType.isInstance(event);
+  }
+
+  public Class<E> getEventType() {
+    return eventType;
+  }
+
+  /**
+   * @param eventType the type of events
+   * @return true if the listener could be interested in events of the type
+   */
+  public boolean accepts(Class<?> eventType) {
+    return EventTypeRoutes.mayReceive(this.eventType, eventType);
+  }
+
+  /**
+   * Adds the event to the queue of the listener.
+   *
+   * @param event the event, has to be accepted by {@link #accepts(Object)}
+   */
+  public void offer(Object event) {
+    E typedEvent = eventType.cast(event);
+    CoalescingKey key = overflowPolicy == OverflowPolicy.COALESCE_BY_PROPERTY ? CoalescingKey.of(typedEvent) : null;
+    lock.lock();
+    try {
+      while (queue.size() == capacity && !closed) {
+        // a listener that publishes to its own full queue would wait for itself
+        if (overflowPolicy == OverflowPolicy.BLOCK && Thread.currentThread() != drainingThread) {
+          notFull.awaitUninterruptibly();
+          continue;
+        }
+        Entry pending = key == null ? null : pendingByKey.get(key);
+        if (pending != null) {
+          pending.event = typedEvent;
+          coalescedEvents.increment();
+          return;
+        }
+        removeOldest();
+        droppedEvents.increment();
+      }
+      if (closed) {
+        droppedEvents.increment();
+        return;
+      }
+      Entry entry = new Entry(typedEvent, key, System.nanoTime());
+      queue.add(entry);
+      if (key != null) {
+        pendingByKey.put(key, entry);
+      }
+      offeredEvents.increment();
+    } finally {
+      lock.unlock();
+    }
+    scheduleDrain();
+  }
+
+  private void scheduleDrain() {
+    while (scheduled.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::drain);
+        return;
+      } catch (RejectedExecutionException e) {
+        reject(e);
+      }
+      // an event that was offered after the queue was cleared but before the flag was reset could not schedule a drain
+      if (getQueueDepth() == 0) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * The executor is shut down or saturated, the queued events are dropped so that blocked publishers are released and the next event schedules a drain again.
+   */
+  private void reject(RejectedExecutionException e) {
+    int rejectedEvents;
+    lock.lock();
+    try {
+      rejectedEvents = queue.size();
+      queue.clear();
+      pendingByKey.clear();
+      droppedEvents.add(rejectedEvents);
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    scheduled.set(false);
+    log.log(ERROR, "executor of listener " + name + " rejected " + rejectedEvents + " events", e);
+  }
+
+  /**
+   * Stops accepting events, pending events are still delivered.
+   */
+  public void close() {
+    lock.lock();
+    try {
+      closed = true;
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public OverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public int getQueueDepth() {
+    lock.lock();
+    try {
+      return queue.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return how long the oldest pending event is waiting for the listener
+   */
+  public Duration getLag() {
+    lock.lock();
+    try {
+      Entry oldest = queue.peek();
+      return oldest == null ? Duration.ZERO : Duration.ofNanos(System.nanoTime() - oldest.enqueueTime);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getOfferedEventCount() {
+    return offeredEvents.sum();
+  }
+
+  public long getDroppedEventCount() {
+    return droppedEvents.sum();
+  }
+
+  public long getCoalescedEventCount() {
+    return coalescedEvents.sum();
+  }
+
+  public long getProcessedEventCount() {
+    return processedEvents.sum();
+  }
+
+  public long getFailedEventCount() {
+    return failedEvents.sum();
+  }
+
+  public Duration getAverageProcessingTime() {
+    long processed = processedEvents.sum();
+    return processed == 0 ? Duration.ZERO : Duration.ofNanos(totalProcessingTimeInNanos.sum() / processed);
+  }
+
+  public Duration getMaxProcessingTime() {
+    return Duration.ofNanos(maxProcessingTimeInNanos);
+  }
+
+  private void removeOldest() {
+    Entry oldest = queue.poll();
+    if (oldest != null && oldest.key != null) {
+      pendingByKey.remove(oldest.key, oldest);
+    }
+  }
+
+  private void drain() {
+    drainingThread = Thread.currentThread();
+    try {
+      do {
+        E event;
+        while ((event = poll()) != null) {
+          deliver(event);
+        }
+        scheduled.set(false);
+        // an event that was offered after the queue was empty but before the flag was reset has to be delivered too
+      } while (getQueueDepth() > 0 && scheduled.compareAndSet(false, true));
+    } finally {
+      drainingThread = null;
+    }
+  }
+
+  private E poll() {
+    lock.lock();
+    try {
+      Entry entry = queue.peek();
+      if (entry == null) {
+        return null;
+      }
+      removeOldest();
+      notFull.signal();
+      return entry.event;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void deliver(E event) {
+    long start = System.nanoTime();
+    try {
+      listener.accept(event);
+    } catch (RuntimeException e) {
+      failedEvents.increment();
+      log.log(ERROR, "listener " + name + " failed to process " + event, e);
+    }
+    long processingTime = System.nanoTime() - start;
+    totalProcessingTimeInNanos.add(processingTime);
+    if (processingTime > maxProcessingTimeInNanos) {
+      maxProcessingTimeInNanos = processingTime;
+    }
+    processedEvents.increment();
+  }
+
+  private final class Entry {
+
+    private final long enqueueTime;
+    private final CoalescingKey key;
+    private E event;
+
+    Entry(E event, CoalescingKey key, long enqueueTime) {
+      this.event = event;
+      this.key = key;
+      this.enqueueTime = enqueueTime;
+    }
+  }
+
+  private record CoalescingKey(DevicePropertyId devicePropertyId, Class<?> eventClass) {
+
+    static CoalescingKey of(Object event) {
+      if (event instanceof DevicePropertyEvent<?> devicePropertyEvent && devicePropertyEvent.getDevicePropertyId() != null) {
+        return new CoalescingKey(devicePropertyEvent.getDevicePropertyId(), event.getClass());
+      }
+      return null;
+    }
+  }
+}
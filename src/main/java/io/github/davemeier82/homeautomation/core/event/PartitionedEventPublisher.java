@@ -0,0 +1,148 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.event.AsyncEventPublisher.WaitStrategy;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers the events in parallel on several lanes, each with its own {@link AsyncEventPublisher}.
+ * All events of a device property, including the {@link NewDevicePropertyCreatedEvent}, are delivered on the same lane, so they are delivered in the order they were published.
+ * Events that do not belong to a device property, e.g. {@link MqttClientConnectedEvent}, are delivered on a dedicated lane.
+ * A listener that publishes to another lane whose buffer is full does not wait, the event is delivered on the thread of the listener instead.
+ */
+public class PartitionedEventPublisher implements EventPublisher, AutoCloseable {
+
+  private final EventPublisher delegate;
+  private final AsyncEventPublisher[] propertyLanes;
+  private final AsyncEventPublisher otherLane;
+  private final LongAdder inlineDeliveredEvents = new LongAdder();
+
+  /**
+   * @param delegate      the publisher that delivers the events to the listeners, it is called concurrently from all lanes
+   * @param lanes         the number of lanes for device property events, e.g. the number of available cores
+   * @param laneCapacity  the buffer size of each lane
+   * @param batchSize     the maximum number of events that a lane takes from its buffer at once
+   * @param waitStrategy  how the lanes wait for events
+   */
+  public PartitionedEventPublisher(EventPublisher delegate, int lanes, int laneCapacity, int batchSize, WaitStrategy waitStrategy) {
+    if (lanes < 1) {
+      throw new IllegalArgumentException("at least one lane is required");
+    }
+    this.delegate = delegate;
+    propertyLanes = new AsyncEventPublisher[lanes];
+    for (int i = 0; i < lanes; i++) {
+      propertyLanes[i] = new AsyncEventPublisher(delegate, laneCapacity, batchSize, waitStrategy);
+    }
+    otherLane = new AsyncEventPublisher(delegate, laneCapacity, batchSize, waitStrategy);
+  }
+
+  @Override
+  public void publishEvent(Object event) {
+    AsyncEventPublisher lane = laneOf(event);
+    if (lane.tryPublishEvent(event)) {
+      return;
+    }
+    if (isLaneThread()) {
+      // a listener of one lane publishes to another full lane. Waiting for space could deadlock if a listener of that lane waits for this lane,
+      // so the event is delivered on the calling thread, ahead of the pending events of the full lane
+      inlineDeliveredEvents.increment();
+      delegate.publishEvent(event);
+      return;
+    }
+    lane.publishEvent(event);
+  }
+
+  @Override
+  public boolean hasSubscribers(Class<?> eventType) {
+    return delegate.hasSubscribers(eventType);
+  }
+
+  /**
+   * Stops accepting events and waits until the pending events of all lanes are delivered.
+   */
+  @Override
+  public void close() {
+    for (AsyncEventPublisher lane : propertyLanes) {
+      lane.close();
+    }
+    otherLane.close();
+  }
+
+  public int getLaneCount() {
+    return propertyLanes.length;
+  }
+
+  /**
+   * @return the number of pending events per device property lane, e.g. to detect hot lanes
+   */
+  public long[] getPendingEventCounts() {
+    return Arrays.stream(propertyLanes).mapToLong(AsyncEventPublisher::getPendingEventCount).toArray();
+  }
+
+  public long getPendingEventCount() {
+    return Arrays.stream(propertyLanes).mapToLong(AsyncEventPublisher::getPendingEventCount).sum() + otherLane.getPendingEventCount();
+  }
+
+  public long getProcessedEventCount() {
+    return Arrays.stream(propertyLanes).mapToLong(AsyncEventPublisher::getProcessedEventCount).sum() + otherLane.getProcessedEventCount();
+  }
+
+  /**
+   * @return the number of events that a listener published to another full lane and that were delivered on the thread of the listener
+   */
+  public long getInlineDeliveredEventCount() {
+    return inlineDeliveredEvents.sum();
+  }
+
+  public long getFailedEventCount() {
+    return Arrays.stream(propertyLanes).mapToLong(AsyncEventPublisher::getFailedEventCount).sum() + otherLane.getFailedEventCount();
+  }
+
+  private boolean isLaneThread() {
+    for (AsyncEventPublisher lane : propertyLanes) {
+      if (lane.isConsumerThread()) {
+        return true;
+      }
+    }
+    return otherLane.isConsumerThread();
+  }
+
+  private AsyncEventPublisher laneOf(Object event) {
+    DevicePropertyId devicePropertyId = null;
+    if (event instanceof DevicePropertyEvent<?> devicePropertyEvent) {
+      devicePropertyId = devicePropertyEvent.getDevicePropertyId();
+    } else if (event instanceof NewDevicePropertyCreatedEvent newDevicePropertyCreatedEvent) {
+      // on the lane of the property, so that listeners see the property before its first value
+      devicePropertyId = newDevicePropertyCreatedEvent.getDevicePropertyId();
+    }
+    return devicePropertyId == null ? otherLane : propertyLanes[laneIndexOf(devicePropertyId)];
+  }
+
+  /**
+   * @param devicePropertyId the device property id
+   * @return the index of the lane that delivers the events of the device property
+   */
+  int laneIndexOf(DevicePropertyId devicePropertyId) {
+    int hash = devicePropertyId.hashCode();
+    return Math.floorMod(hash ^ (hash >>> 16), propertyLanes.length);
+  }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueType;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.ALARM_STATE;
+import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.MOTION_STATE;
+import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.SMOKE_STATE;
+import static java.lang.System.Logger.Level.ERROR;
+
+/**
+ * Publishes the events asynchronously to a delegate with two lanes. Events of safety-critical value types, e.g. smoke detectors, go to the
+ * high-priority lane which is always drained first. A high-priority event therefore waits at most until the delegate finished the event
+ * it is currently processing, no matter how many routine events are pending.
+ * Both lanes are bounded and block the callers if they are full. The high-priority lane only fills up if the delegate cannot keep up with the high-priority
+ * events alone, routine events never take space from it.
+ */
+public class PriorityEventPublisher implements EventPublisher, AutoCloseable {
+
+  public static final Set<DevicePropertyValueType> DEFAULT_HIGH_PRIORITY_VALUE_TYPES = Set.of(SMOKE_STATE, ALARM_STATE, MOTION_STATE);
+
+  private static final System.Logger log = System.getLogger(PriorityEventPublisher.class.getName());
+
+  private final EventPublisher delegate;
+  private final Set<DevicePropertyValueType> highPriorityValueTypes;
+  private final int capacity;
+  private final int highPriorityCapacity;
+  private final ArrayDeque<Entry> highPriorityLane;
+  private final ArrayDeque<Entry> normalLane;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Condition notFull = lock.newCondition();
+  private final Condition highPriorityNotFull = lock.newCondition();
+  private final Thread consumerThread;
+  private final LongAdder highPriorityEvents = new LongAdder();
+  private final LongAdder normalEvents = new LongAdder();
+  private final LongAdder failedEvents = new LongAdder();
+  private final LongAdder rejectedEvents = new LongAdder();
+  private volatile long totalHighPriorityLatencyInNanos;
+  private volatile long maxHighPriorityLatencyInNanos;
+  private volatile long processedHighPriorityEvents;
+  private boolean running = true;
+
+  public PriorityEventPublisher(EventPublisher delegate, int capacity) {
+    this(delegate, DEFAULT_HIGH_PRIORITY_VALUE_TYPES, capacity);
+  }
+
+  /**
+   * @param delegate               the publisher that delivers the events to the listeners
+   * @param highPriorityValueTypes the value types whose events are delivered first
+   * @param capacity               the maximum number of pending events in each lane
+   */
+  public PriorityEventPublisher(EventPublisher delegate, Set<DevicePropertyValueType> highPriorityValueTypes, int capacity) {
+    this(delegate, highPriorityValueTypes, capacity, capacity);
+  }
+
+  /**
+   * @param delegate               the publisher that delivers the events to the listeners
+   * @param highPriorityValueTypes the value types whose events are delivered first
+   * @param capacity               the maximum number of pending events in the normal lane
+   * @param highPriorityCapacity   the maximum number of pending events in the high-priority lane
+   */
+  public PriorityEventPublisher(EventPublisher delegate, Set<DevicePropertyValueType> highPriorityValueTypes, int capacity, int highPriorityCapacity) {
+    if (capacity < 1 || highPriorityCapacity < 1) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.delegate = delegate;
+    this.highPriorityValueTypes = Set.copyOf(highPriorityValueTypes);
+    this.capacity = capacity;
+    this.highPriorityCapacity = highPriorityCapacity;
+    normalLane = new ArrayDeque<>(capacity);
+    highPriorityLane = new ArrayDeque<>(highPriorityCapacity);
+    consumerThread = new Thread(this::run, "priority-event-publisher");
+    consumerThread.setDaemon(true);
+    consumerThread.start();
+  }
+
+  @Override
+  public void publishEvent(Object event) {
+    boolean highPriority = isHighPriority(event);
+    lock.lock();
+    try {
+      ArrayDeque<Entry> lane = highPriority ? highPriorityLane : normalLane;
+      int laneCapacity = highPriority ? highPriorityCapacity : capacity;
+      // the consumer thread itself must not wait for space, it is the one that makes space
+      while (running && lane.size() >= laneCapacity && Thread.currentThread() != consumerThread) {
+        (highPriority ? highPriorityNotFull : notFull).awaitUninterruptibly();
+      }
+      if (!running) {
+        rejectedEvents.increment();
+        return;
+      }
+      lane.add(new Entry(event, System.nanoTime()));
+      if (highPriority) {
+        highPriorityEvents.increment();
+      } else {
+        normalEvents.increment();
+      }
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean hasSubscribers(Class<?> eventType) {
+    return delegate.hasSubscribers(eventType);
+  }
+
+  /**
+   * Stops accepting events and waits until the pending events are delivered.
+   */
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      running = false;
+      notEmpty.signal();
+      notFull.signalAll();
+      highPriorityNotFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    try {
+      consumerThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public boolean isHighPriority(Object event) {
+    return event instanceof DevicePropertyEvent<?> devicePropertyEvent && highPriorityValueTypes.contains(devicePropertyEvent.getValueType());
+  }
+
+  public int getPendingHighPriorityEventCount() {
+    lock.lock();
+    try {
+      return highPriorityLane.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getPendingNormalEventCount() {
+    lock.lock();
+    try {
+      return normalLane.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getHighPriorityEventCount() {
+    return highPriorityEvents.sum();
+  }
+
+  public long getNormalEventCount() {
+    return normalEvents.sum();
+  }
+
+  public long getFailedEventCount() {
+    return failedEvents.sum();
+  }
+
+  /**
+   * @return the number of events that were published after the publisher was closed
+   */
+  public long getRejectedEventCount() {
+    return rejectedEvents.sum();
+  }
+
+  /**
+   * @return the average time from publishing a high-priority event until the delegate returned
+   */
+  public Duration getAverageHighPriorityLatency() {
+    long processed = processedHighPriorityEvents;
+    return processed == 0 ? Duration.ZERO : Duration.ofNanos(totalHighPriorityLatencyInNanos / processed);
+  }
+
+  public Duration getMaxHighPriorityLatency() {
+    return Duration.ofNanos(maxHighPriorityLatencyInNanos);
+  }
+
+  private void run() {
+    while (true) {
+      Entry entry;
+      boolean highPriority;
+      lock.lock();
+      try {
+        while (highPriorityLane.isEmpty() && normalLane.isEmpty() && running) {
+          notEmpty.awaitUninterruptibly();
+        }
+        highPriority = !highPriorityLane.isEmpty();
+        entry = highPriority ? highPriorityLane.poll() : normalLane.poll();
+        if (entry == null) {
+          return;
+        }
+        (highPriority ? highPriorityNotFull : notFull).signal();
+      } finally {
+        lock.unlock();
+      }
+      try {
+        delegate.publishEvent(entry.event);
+      } catch (RuntimeException e) {
+        failedEvents.increment();
+        log.log(ERROR, "failed to publish " + entry.event, e);
+      }
+      if (highPriority) {
+        long latency = System.nanoTime() - entry.publishTime;
+        totalHighPriorityLatencyInNanos += latency;
+        if (latency > maxHighPriorityLatencyInNanos) {
+          maxHighPriorityLatencyInNanos = latency;
+        }
+        processedHighPriorityEvents++;
+      }
+    }
+  }
+
+  private record Entry(Object event, long publishTime) {
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static java.lang.System.Logger.Level.ERROR;
+
+/**
+ * Delivers the events synchronously to the handlers subscribed to one of the types of the event.
+ * Events implement several interfaces, e.g. a temperature changed event is also a {@link DevicePropertyChangedEvent}. Instead of checking every handler
+ * for every event, the handlers interested in an event class are computed once per concrete class and cached, see {@link EventTypeRoutes}.
+ * Publishing is then a single lookup. The cache is replaced when handlers are added or removed.
+ */
+public class TypeDispatchingEventPublisher implements EventPublisher {
+
+  private static final System.Logger log = System.getLogger(TypeDispatchingEventPublisher.class.getName());
+
+  private final List<Handler<?>> handlers = new ArrayList<>();
+  private volatile EventTypeRoutes<Handler<?>, Handler<?>[]> routes = routesOf(List.of());
+
+  public synchronized <E> Handler<E> subscribe(Class<E> eventType, Consumer<? super E> listener) {
+    Handler<E> handler = new Handler<>(eventType, listener);
+    handlers.add(handler);
+    routes = routesOf(handlers);
+    return handler;
+  }
+
+  public synchronized void unsubscribe(Handler<?> handler) {
+    if (handlers.remove(handler)) {
+      routes = routesOf(handlers);
+    }
+  }
+
+  @Override
+  public void publishEvent(Object event) {
+    for (Handler<?> handler : routes.routeOf(event.getClass())) {
+      handler.deliver(event);
+    }
+  }
+
+  @Override
+  public boolean hasSubscribers(Class<?> eventType) {
+    return routes.hasSubscribers(eventType);
+  }
+
+  public int getHandlerCount() {
+    return routes.getSubscribers().size();
+  }
+
+  private static EventTypeRoutes<Handler<?>, Handler<?>[]> routesOf(List<Handler<?>> handlers) {
+    return new EventTypeRoutes<>(handlers, Handler::getEventType, matching -> matching.toArray(Handler<?>[]::new));
+  }
+
+  public static final class Handler<E> {
+
+    private final Class<E> eventType;
+    private final Consumer<? super E> listener;
+
+    private Handler(Class<E> eventType, Consumer<? super E> listener) {
+      this.eventType = eventType;
+      this.listener = listener;
+    }
+
+    public Class<E> getEventType() {
+      return eventType;
+    }
+
+    private void deliver(Object event) {
+      try {
+        listener.accept(eventType.cast(event));
+      } catch (RuntimeException e) {
+        log.log(ERROR, "failed to deliver " + event, e);
+      }
+    }
+  }
+}
@@ -20,6 +20,7 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyI
 import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueType;
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
+import io.github.davemeier82.homeautomation.core.event.NumericDataWithTimestamp;
 
 import java.time.OffsetDateTime;
 import java.util.Optional;
@@ -31,6 +32,7 @@ public abstract class AbstractDevicePropertyEvent<T> implements DevicePropertyEv
   protected final String displayName;
   protected final DataWithTimestamp<T> state;
   protected final DataWithTimestamp<T> previousState;
+  private volatile Object[] messageArgs;
 
   protected AbstractDevicePropertyEvent(DevicePropertyId devicePropertyId,
                                         DevicePropertyValueType devicePropertyValueType,
@@ -60,6 +62,25 @@ public abstract class AbstractDevicePropertyEvent<T> implements DevicePropertyEv
     return displayName;
   }
 
+  @Override
+  public Object[] getMessageArgs() {
+    Object[] result = messageArgs;
+    if (result == null) {
+      result = createMessageArgs();
+      messageArgs = result;
+    }
+    return result;
+  }
+
+  /**
+   * Creates the arguments for the message, called at most a few times per event as the result is cached.
+   * Subclasses that override {@link #getMessageArgs()} do not have to implement it.
+   *
+   * @return the message arguments, none by default
+   */
+  protected Object[] createMessageArgs() {
+    return new Object[0];
+  }
 
   @Override
   public T getNewValue() {
@@ -71,6 +92,16 @@ public abstract class AbstractDevicePropertyEvent<T> implements DevicePropertyEv
     return state.getDateTime();
   }
 
+  @Override
+  public long getNewEpochMillis() {
+    return state.getEpochMillis();
+  }
+
+  @Override
+  public double getNewValueAsDouble() {
+    return toDouble(state);
+  }
+
   @Override
   public Optional<T> getPreviousValue() {
     return Optional.ofNullable(previousState).map(DataWithTimestamp::getValue);
@@ -80,4 +111,26 @@ public abstract class AbstractDevicePropertyEvent<T> implements DevicePropertyEv
   public Optional<OffsetDateTime> getPreviousTimestamp() {
     return Optional.ofNullable(previousState).map(DataWithTimestamp::getDateTime);
   }
+
+  @Override
+  public T getPreviousValueOrNull() {
+    return previousState == null ? null : previousState.getValue();
+  }
+
+  @Override
+  public double getPreviousValueAsDouble() {
+    return previousState == null ? Double.NaN : toDouble(previousState);
+  }
+
+  @Override
+  public boolean hasPreviousValue() {
+    return previousState != null;
+  }
+
+  private static double toDouble(DataWithTimestamp<?> data) {
+    if (data instanceof NumericDataWithTimestamp numericData) {
+      return numericData.getDoubleValue();
+    }
+    return data.getValue() instanceof Number number ? number.doubleValue() : Double.NaN;
+  }
 }
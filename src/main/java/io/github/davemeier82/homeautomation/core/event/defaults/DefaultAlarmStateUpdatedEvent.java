@@ -61,7 +61,7 @@ public class DefaultAlarmStateUpdatedEvent extends AbstractDevicePropertyEvent<A
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new String[]{displayName};
   }
 
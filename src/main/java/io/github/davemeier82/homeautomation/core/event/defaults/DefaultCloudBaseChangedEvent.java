@@ -44,7 +44,7 @@ public class DefaultCloudBaseChangedEvent extends AbstractDevicePropertyEvent<Fl
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Float[]{getNewValue()};
   }
 
@@ -43,7 +43,7 @@ public class DefaultCloudBaseUpdatedEvent extends AbstractDevicePropertyEvent<Fl
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Float[]{getNewValue()};
   }
 
@@ -43,7 +43,7 @@ public class DefaultCo2LevelUpdatedEvent extends AbstractDevicePropertyEvent<Int
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Integer[]{getNewValue()};
   }
 }
@@ -43,7 +43,7 @@ public class DefaultDimmingLevelChangedEvent extends AbstractDevicePropertyEvent
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Integer[]{getNewValue()};
   }
 
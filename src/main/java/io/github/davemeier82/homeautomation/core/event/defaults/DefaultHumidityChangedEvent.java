@@ -43,7 +43,7 @@ public class DefaultHumidityChangedEvent extends AbstractDevicePropertyEvent<Flo
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Float[]{getNewValue()};
   }
 
@@ -43,7 +43,7 @@ public class DefaultIlluminanceUpdatedEvent extends AbstractDevicePropertyEvent<
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Integer[]{getNewValue()};
   }
 }
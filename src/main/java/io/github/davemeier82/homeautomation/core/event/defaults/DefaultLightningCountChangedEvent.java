@@ -43,7 +43,7 @@ public class DefaultLightningCountChangedEvent extends AbstractDevicePropertyEve
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Integer[]{getNewValue()};
   }
 }
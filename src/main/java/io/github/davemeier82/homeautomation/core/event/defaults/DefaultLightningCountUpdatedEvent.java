@@ -43,7 +43,7 @@ public class DefaultLightningCountUpdatedEvent extends AbstractDevicePropertyEve
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Integer[]{getNewValue()};
   }
 }
@@ -43,7 +43,7 @@ public class DefaultLightningDistanceChangedEvent extends AbstractDeviceProperty
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Integer[]{getNewValue()};
   }
 }
@@ -43,7 +43,7 @@ public class DefaultLightningDistanceUpdatedEvent extends AbstractDeviceProperty
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Integer[]{getNewValue()};
   }
 }
@@ -43,7 +43,7 @@ public class DefaultMotionChangedEvent extends AbstractDevicePropertyEvent<Boole
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new String[]{displayName};
   }
 
@@ -43,7 +43,7 @@ public class DefaultMotionUpdatedEvent extends AbstractDevicePropertyEvent<Boole
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new String[]{displayName};
   }
 
@@ -43,7 +43,7 @@ public class DefaultPowerUpdatedEvent extends AbstractDevicePropertyEvent<Double
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Double[]{getNewValue()};
   }
 
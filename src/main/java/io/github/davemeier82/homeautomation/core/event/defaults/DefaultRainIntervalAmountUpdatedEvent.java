@@ -43,7 +43,7 @@ public class DefaultRainIntervalAmountUpdatedEvent extends AbstractDevicePropert
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Float[]{getNewValue()};
   }
 
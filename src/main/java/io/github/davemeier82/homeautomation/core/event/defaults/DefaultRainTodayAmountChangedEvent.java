@@ -43,7 +43,7 @@ public class DefaultRainTodayAmountChangedEvent extends AbstractDevicePropertyEv
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Float[]{getNewValue()};
   }
 
@@ -43,7 +43,7 @@ public class DefaultRainTodayAmountUpdatedEvent extends AbstractDevicePropertyEv
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Float[]{getNewValue()};
   }
 
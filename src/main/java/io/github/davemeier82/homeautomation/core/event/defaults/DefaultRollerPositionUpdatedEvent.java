@@ -43,7 +43,7 @@ public class DefaultRollerPositionUpdatedEvent extends AbstractDevicePropertyEve
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Object[]{displayName, getNewValue()};
   }
 
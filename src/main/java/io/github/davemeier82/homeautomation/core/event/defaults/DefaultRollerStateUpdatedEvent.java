@@ -55,7 +55,7 @@ public class DefaultRollerStateUpdatedEvent extends AbstractDevicePropertyEvent<
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new String[]{displayName};
   }
 
@@ -43,7 +43,7 @@ public class DefaultSmokeStateUpdatedEvent extends AbstractDevicePropertyEvent<B
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new String[]{displayName};
   }
 
@@ -43,7 +43,7 @@ public class DefaultTemperatureChangedEvent extends AbstractDevicePropertyEvent<
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Float[]{getNewValue()};
   }
 
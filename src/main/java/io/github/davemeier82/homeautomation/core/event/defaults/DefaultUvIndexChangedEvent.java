@@ -43,7 +43,7 @@ public class DefaultUvIndexChangedEvent extends AbstractDevicePropertyEvent<Floa
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Float[]{getNewValue()};
   }
 
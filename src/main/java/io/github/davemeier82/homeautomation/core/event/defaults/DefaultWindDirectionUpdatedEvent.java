@@ -43,7 +43,7 @@ public class DefaultWindDirectionUpdatedEvent extends AbstractDevicePropertyEven
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Float[]{getNewValue()};
   }
 
@@ -43,7 +43,7 @@ public class DefaultWindGustDirectionUpdatedEvent extends AbstractDeviceProperty
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Float[]{getNewValue()};
   }
 
@@ -43,7 +43,7 @@ public class DefaultWindRunChangedEvent extends AbstractDevicePropertyEvent<Doub
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Double[]{getNewValue()};
   }
 
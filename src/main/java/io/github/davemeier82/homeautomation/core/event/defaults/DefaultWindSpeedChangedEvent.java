@@ -43,7 +43,7 @@ public class DefaultWindSpeedChangedEvent extends AbstractDevicePropertyEvent<Fl
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Float[]{getNewValue()};
   }
 
@@ -42,7 +42,7 @@ public class DefaultWindowTiltAngleChangedEvent extends AbstractDevicePropertyEv
   }
 
   @Override
-  public Object[] getMessageArgs() {
+  protected Object[] createMessageArgs() {
     return new Integer[]{getNewValue()};
   }
 
@@ -142,15 +142,19 @@ import java.util.Optional;
 
 public class DefaultEventFactory implements EventFactory {
 
-  private static final String DEFAULT_EVENT_PACKAGE = "io.github.davemeier82.homeautomation.core.event.";
+  private final EventTypeRegistry eventTypeRegistry;
+
+  public DefaultEventFactory() {
+    this(EventTypeRegistry.load());
+  }
+
+  public DefaultEventFactory(EventTypeRegistry eventTypeRegistry) {
+    this.eventTypeRegistry = eventTypeRegistry;
+  }
 
   @Override
   public Optional<Class<?>> fromEventName(String eventName) {
-    try {
-      return Optional.of(Class.forName(DEFAULT_EVENT_PACKAGE + eventName));
-    } catch (ClassNotFoundException e) {
-      return Optional.empty();
-    }
+    return eventTypeRegistry.fromEventName(eventName);
   }
 
   @Override
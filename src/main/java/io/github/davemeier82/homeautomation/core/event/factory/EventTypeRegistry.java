@@ -0,0 +1,203 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.davemeier82.homeautomation.core.event.factory;
+
+import io.github.davemeier82.homeautomation.core.event.AlarmStateChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.AlarmStateUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.BatteryLevelChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.BatteryLevelUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.CloudBaseChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.CloudBaseUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.Co2LevelChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.Co2LevelUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.DevicePropertyChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
+import io.github.davemeier82.homeautomation.core.event.DevicePropertyUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.DimmingLevelChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.DimmingLevelUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.HumidityChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.HumidityUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.IlluminanceChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.IlluminanceUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.LightningCountChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.LightningCountUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.LightningDistanceChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.LightningDistanceUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.MotionChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.MotionUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.MqttClientConnectedEvent;
+import io.github.davemeier82.homeautomation.core.event.NewDevicePropertyCreatedEvent;
+import io.github.davemeier82.homeautomation.core.event.PowerChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.PowerUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.PressureChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.PressureUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.RainIntervalAmountChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.RainIntervalAmountUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.RainRateChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.RainRateUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.RainTodayAmountChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.RainTodayAmountUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.RelayStateChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.RelayStateUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.RollerPositionChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.RollerPositionUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.RollerStateChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.RollerStateUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.SmokeStateChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.SmokeStateUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.TemperatureChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.TemperatureUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.UvIndexChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.UvIndexUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindDirectionChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindDirectionUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindGustDirectionChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindGustDirectionUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindGustSpeedChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindGustSpeedUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindRunChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindRunUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindSpeedChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindSpeedUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindowStateChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindowStateUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindowTiltAngleChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindowTiltAngleUpdatedEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+/**
+ * Immutable mapping between event names and event types.
+ * The event name is the simple name of the event type, e.g. "WindowStateChangedEvent".
+ */
+public final class EventTypeRegistry {
+
+  /**
+   * The event types of core.
+   */
+  public static final List<Class<?>> DEFAULT_EVENT_TYPES = List.of(
+      AlarmStateChangedEvent.class,
+      AlarmStateUpdatedEvent.class,
+      BatteryLevelChangedEvent.class,
+      BatteryLevelUpdatedEvent.class,
+      CloudBaseChangedEvent.class,
+      CloudBaseUpdatedEvent.class,
+      Co2LevelChangedEvent.class,
+      Co2LevelUpdatedEvent.class,
+      DevicePropertyChangedEvent.class,
+      DevicePropertyEvent.class,
+      DevicePropertyUpdatedEvent.class,
+      DimmingLevelChangedEvent.class,
+      DimmingLevelUpdatedEvent.class,
+      HumidityChangedEvent.class,
+      HumidityUpdatedEvent.class,
+      IlluminanceChangedEvent.class,
+      IlluminanceUpdatedEvent.class,
+      LightningCountChangedEvent.class,
+      LightningCountUpdatedEvent.class,
+      LightningDistanceChangedEvent.class,
+      LightningDistanceUpdatedEvent.class,
+      MotionChangedEvent.class,
+      MotionUpdatedEvent.class,
+      MqttClientConnectedEvent.class,
+      NewDevicePropertyCreatedEvent.class,
+      PowerChangedEvent.class,
+      PowerUpdatedEvent.class,
+      PressureChangedEvent.class,
+      PressureUpdatedEvent.class,
+      RainIntervalAmountChangedEvent.class,
+      RainIntervalAmountUpdatedEvent.class,
+      RainRateChangedEvent.class,
+      RainRateUpdatedEvent.class,
+      RainTodayAmountChangedEvent.class,
+      RainTodayAmountUpdatedEvent.class,
+      RelayStateChangedEvent.class,
+      RelayStateUpdatedEvent.class,
+      RollerPositionChangedEvent.class,
+      RollerPositionUpdatedEvent.class,
+      RollerStateChangedEvent.class,
+      RollerStateUpdatedEvent.class,
+      SmokeStateChangedEvent.class,
+      SmokeStateUpdatedEvent.class,
+      TemperatureChangedEvent.class,
+      TemperatureUpdatedEvent.class,
+      UvIndexChangedEvent.class,
+      UvIndexUpdatedEvent.class,
+      WindDirectionChangedEvent.class,
+      WindDirectionUpdatedEvent.class,
+      WindGustDirectionChangedEvent.class,
+      WindGustDirectionUpdatedEvent.class,
+      WindGustSpeedChangedEvent.class,
+      WindGustSpeedUpdatedEvent.class,
+      WindRunChangedEvent.class,
+      WindRunUpdatedEvent.class,
+      WindSpeedChangedEvent.class,
+      WindSpeedUpdatedEvent.class,
+      WindowStateChangedEvent.class,
+      WindowStateUpdatedEvent.class,
+      WindowTiltAngleChangedEvent.class,
+      WindowTiltAngleUpdatedEvent.class
+  );
+
+  private final Map<String, Class<?>> typesByName;
+  private final Map<Class<?>, String> namesByType;
+
+  public EventTypeRegistry(Collection<Class<?>> eventTypes) {
+    Map<String, Class<?>> byName = new HashMap<>();
+    Map<Class<?>, String> byType = new HashMap<>();
+    for (Class<?> eventType : eventTypes) {
+      String eventName = eventType.getSimpleName();
+      Class<?> existing = byName.putIfAbsent(eventName, eventType);
+      if (existing != null && existing != eventType) {
+        throw new IllegalArgumentException("event name " + eventName + " is used by " + existing.getName() + " and " + eventType.getName());
+      }
+      byType.put(eventType, eventName);
+    }
+    typesByName = Map.copyOf(byName);
+    namesByType = Map.copyOf(byType);
+  }
+
+  /**
+   * Creates a registry with the {@link #DEFAULT_EVENT_TYPES} and the types of all {@link EventTypeProvider}s found by the {@link ServiceLoader}.
+   *
+   * @return the registry
+   */
+  public static EventTypeRegistry load() {
+    List<Class<?>> eventTypes = new ArrayList<>(DEFAULT_EVENT_TYPES);
+    ServiceLoader.load(EventTypeProvider.class).forEach(provider -> eventTypes.addAll(provider.getEventTypes()));
+    return new EventTypeRegistry(eventTypes);
+  }
+
+  public Optional<Class<?>> fromEventName(String eventName) {
+    return Optional.ofNullable(typesByName.get(eventName));
+  }
+
+  public Optional<String> toEventName(Class<?> eventType) {
+    return Optional.ofNullable(namesByType.get(eventType));
+  }
+
+  public Collection<Class<?>> getEventTypes() {
+    return namesByType.keySet();
+  }
+}
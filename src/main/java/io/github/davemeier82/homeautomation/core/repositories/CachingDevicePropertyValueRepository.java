@@ -0,0 +1,220 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.repositories;
+
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueKey;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueType;
+import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-through cache of the latest value per device property and value type in front of a {@link DevicePropertyValueRepository}.
+ * The cache is filled when a new value arrives and warmed lazily from the delegate on a miss.
+ * The number of cached device properties is bounded, once the bound is exceeded an arbitrary device property is evicted and reloaded from the delegate on its next miss.
+ */
+public class CachingDevicePropertyValueRepository implements DevicePropertyValueRepository {
+
+  public static final int DEFAULT_MAXIMUM_SIZE = 100_000;
+
+  private final DevicePropertyValueRepository delegate;
+  private final int maximumSize;
+  // grouped by device property, so that all values of a device property are evicted at once
+  private final Map<DevicePropertyId, Map<DevicePropertyValueType, Optional<DataWithTimestamp<?>>>> latestValues = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public CachingDevicePropertyValueRepository(DevicePropertyValueRepository delegate) {
+    this(delegate, DEFAULT_MAXIMUM_SIZE);
+  }
+
+  /**
+   * @param delegate    the repository that stores the values
+   * @param maximumSize the maximum number of device properties whose values are cached
+   */
+  public CachingDevicePropertyValueRepository(DevicePropertyValueRepository delegate, int maximumSize) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("maximumSize must be at least 1");
+    }
+    this.delegate = delegate;
+    this.maximumSize = maximumSize;
+  }
+
+  @Override
+  public void insert(DevicePropertyId devicePropertyId, DevicePropertyValueType devicePropertyValueType, String displayName, Object value, OffsetDateTime time) {
+    delegate.insert(devicePropertyId, devicePropertyValueType, displayName, value, time);
+    refreshIfCached(devicePropertyId, devicePropertyValueType, new DataWithTimestamp<>(time, value));
+  }
+
+  @Override
+  public void insertAll(List<DevicePropertyValue> values) {
+    delegate.insertAll(values);
+    for (DevicePropertyValue value : values) {
+      refreshIfCached(value.devicePropertyId(), value.devicePropertyValueType(), value.data());
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Optional<DataWithTimestamp<T>> findLatestValue(DevicePropertyId devicePropertyId, DevicePropertyValueType devicePropertyValueType, Class<T> clazz) {
+    Map<DevicePropertyValueType, Optional<DataWithTimestamp<?>>> values = latestValues.get(devicePropertyId);
+    Optional<DataWithTimestamp<?>> cached = values == null ? null : values.get(devicePropertyValueType);
+    if (cached != null) {
+      hits.increment();
+      return cached.map(value -> (DataWithTimestamp<T>) value);
+    }
+    misses.increment();
+    // loaded outside of any map operation, a slow query must not block other keys
+    Optional<DataWithTimestamp<?>> loaded = delegate.findLatestValue(devicePropertyId, devicePropertyValueType, clazz).map(value -> value);
+    return cache(devicePropertyId, devicePropertyValueType, loaded).map(value -> (DataWithTimestamp<T>) value);
+  }
+
+  @Override
+  public Map<DevicePropertyValueKey, DataWithTimestamp<?>> findLatestValues(Collection<DevicePropertyValueKey> keys) {
+    Map<DevicePropertyValueKey, DataWithTimestamp<?>> values = new HashMap<>();
+    List<DevicePropertyValueKey> missingKeys = new ArrayList<>();
+    for (DevicePropertyValueKey key : keys) {
+      Map<DevicePropertyValueType, Optional<DataWithTimestamp<?>>> cachedValues = latestValues.get(key.devicePropertyId());
+      Optional<DataWithTimestamp<?>> cached = cachedValues == null ? null : cachedValues.get(key.devicePropertyValueType());
+      if (cached == null) {
+        missingKeys.add(key);
+      } else {
+        cached.ifPresent(value -> values.put(key, value));
+      }
+    }
+    hits.add(keys.size() - missingKeys.size());
+    if (!missingKeys.isEmpty()) {
+      misses.add(missingKeys.size());
+      Map<DevicePropertyValueKey, DataWithTimestamp<?>> loaded = delegate.findLatestValues(missingKeys);
+      for (DevicePropertyValueKey key : missingKeys) {
+        cache(key.devicePropertyId(), key.devicePropertyValueType(), Optional.ofNullable(loaded.get(key))).ifPresent(value -> values.put(key, value));
+      }
+    }
+    return values;
+  }
+
+  @Override
+  public Optional<OffsetDateTime> lastTimeValueMatched(DevicePropertyId devicePropertyId, DevicePropertyValueType devicePropertyValueType, Object value) {
+    return delegate.lastTimeValueMatched(devicePropertyId, devicePropertyValueType, value);
+  }
+
+  /**
+   * Stores a value that just arrived as the latest value, unless a more recent value is already cached.
+   *
+   * @param devicePropertyId        the device property id
+   * @param devicePropertyValueType the value type
+   * @param value                   the new value
+   */
+  public void updateLatestValue(DevicePropertyId devicePropertyId, DevicePropertyValueType devicePropertyValueType, DataWithTimestamp<?> value) {
+    valuesOf(devicePropertyId).merge(devicePropertyValueType, Optional.of(value), CachingDevicePropertyValueRepository::newer);
+  }
+
+  /**
+   * Removes all cached values of a device property, e.g. after it was deleted.
+   *
+   * @param devicePropertyId the device property id
+   */
+  public void evict(DevicePropertyId devicePropertyId) {
+    latestValues.remove(devicePropertyId);
+  }
+
+  public void clear() {
+    latestValues.clear();
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the number of device properties that were evicted because the cache was full
+   */
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  /**
+   * @return the number of cached values
+   */
+  public int size() {
+    return latestValues.values().stream().mapToInt(Map::size).sum();
+  }
+
+  private Optional<DataWithTimestamp<?>> cache(DevicePropertyId devicePropertyId, DevicePropertyValueType devicePropertyValueType, Optional<DataWithTimestamp<?>> loaded) {
+    // a value that arrived while loading is more recent than the loaded one
+    Optional<DataWithTimestamp<?>> cached = valuesOf(devicePropertyId).putIfAbsent(devicePropertyValueType, loaded);
+    return cached == null ? loaded : cached;
+  }
+
+  private void refreshIfCached(DevicePropertyId devicePropertyId, DevicePropertyValueType devicePropertyValueType, DataWithTimestamp<?> value) {
+    Map<DevicePropertyValueType, Optional<DataWithTimestamp<?>>> values = latestValues.get(devicePropertyId);
+    if (values != null) {
+      values.computeIfPresent(devicePropertyValueType, (type, cached) -> newer(cached, value));
+    }
+  }
+
+  private Map<DevicePropertyValueType, Optional<DataWithTimestamp<?>>> valuesOf(DevicePropertyId devicePropertyId) {
+    Map<DevicePropertyValueType, Optional<DataWithTimestamp<?>>> values = latestValues.get(devicePropertyId);
+    if (values == null) {
+      values = latestValues.computeIfAbsent(devicePropertyId, id -> new ConcurrentHashMap<>(4));
+      if (latestValues.size() > maximumSize) {
+        evictOtherThan(devicePropertyId);
+      }
+    }
+    return values;
+  }
+
+  private void evictOtherThan(DevicePropertyId devicePropertyId) {
+    Iterator<DevicePropertyId> iterator = latestValues.keySet().iterator();
+    while (iterator.hasNext()) {
+      if (!iterator.next().equals(devicePropertyId)) {
+        iterator.remove();
+        evictions.increment();
+        return;
+      }
+    }
+  }
+
+  private static Optional<DataWithTimestamp<?>> newer(Optional<DataWithTimestamp<?>> cached, Optional<DataWithTimestamp<?>> value) {
+    return newer(cached, value.orElse(null));
+  }
+
+  private static Optional<DataWithTimestamp<?>> newer(Optional<DataWithTimestamp<?>> cached, DataWithTimestamp<?> value) {
+    if (value == null) {
+      return cached;
+    }
+    if (cached.isPresent() && value.isBefore(cached.get())) {
+      return cached;
+    }
+    return Optional.of(value);
+  }
+}
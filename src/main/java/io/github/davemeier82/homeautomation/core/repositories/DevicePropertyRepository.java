@@ -21,7 +21,10 @@ import io.github.davemeier82.homeautomation.core.device.property.DeviceProperty;
 import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
 import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyType;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -29,11 +32,41 @@ public interface DevicePropertyRepository {
 
   Optional<DeviceProperty> findByDevicePropertyId(DevicePropertyId devicePropertyId);
 
+  /**
+   * Looks up several device properties at once.
+   * Implementations should override this to load all properties in a single round trip.
+   *
+   * @param devicePropertyIds the ids to look up
+   * @return the device properties by id, ids that do not exist are missing
+   */
+  default Map<DevicePropertyId, DeviceProperty> findByDevicePropertyIds(Collection<DevicePropertyId> devicePropertyIds) {
+    Map<DevicePropertyId, DeviceProperty> deviceProperties = new HashMap<>();
+    for (DevicePropertyId devicePropertyId : devicePropertyIds) {
+      findByDevicePropertyId(devicePropertyId).ifPresent(deviceProperty -> deviceProperties.put(devicePropertyId, deviceProperty));
+    }
+    return deviceProperties;
+  }
+
   List<DeviceProperty> findByDeviceId(DeviceId deviceId);
 
   Set<DeviceProperty> findByType(DevicePropertyType type);
 
   void save(DeviceProperty deviceProperty);
 
+  /**
+   * Saves the device property unless a device property with the same id exists.
+   * The default implementation is not atomic, implementations should override it i.e. with an insert that respects a unique constraint.
+   *
+   * @param deviceProperty the device property to save
+   * @return true if the device property was saved
+   */
+  default boolean saveIfAbsent(DeviceProperty deviceProperty) {
+    if (findByDevicePropertyId(deviceProperty.getId()).isPresent()) {
+      return false;
+    }
+    save(deviceProperty);
+    return true;
+  }
+
   void delete(DevicePropertyId devicePropertyId);
 }
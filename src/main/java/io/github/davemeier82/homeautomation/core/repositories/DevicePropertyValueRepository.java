@@ -17,18 +17,49 @@
 package io.github.davemeier82.homeautomation.core.repositories;
 
 import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueKey;
 import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueType;
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface DevicePropertyValueRepository {
 
   void insert(DevicePropertyId devicePropertyId, DevicePropertyValueType devicePropertyValueType, String displayName, Object value, OffsetDateTime time);
 
+  /**
+   * Inserts several values at once. Implementations should override this to insert all values in a single batch.
+   *
+   * @param values the values to insert
+   */
+  default void insertAll(List<DevicePropertyValue> values) {
+    for (DevicePropertyValue value : values) {
+      insert(value.devicePropertyId(), value.devicePropertyValueType(), value.displayName(), value.value(), value.time());
+    }
+  }
+
   <T> Optional<DataWithTimestamp<T>> findLatestValue(DevicePropertyId devicePropertyId, DevicePropertyValueType devicePropertyValueType, Class<T> clazz);
 
+  /**
+   * Looks up the latest values of several device properties at once.
+   * Implementations should override this to load all values in a single round trip.
+   *
+   * @param keys the device properties and value types to look up
+   * @return the latest value per key, keys without a value are missing
+   */
+  default Map<DevicePropertyValueKey, DataWithTimestamp<?>> findLatestValues(Collection<DevicePropertyValueKey> keys) {
+    Map<DevicePropertyValueKey, DataWithTimestamp<?>> latestValues = new HashMap<>();
+    for (DevicePropertyValueKey key : keys) {
+      findLatestValue(key.devicePropertyId(), key.devicePropertyValueType(), key.devicePropertyValueType().getClazz()).ifPresent(value -> latestValues.put(key, value));
+    }
+    return latestValues;
+  }
+
   Optional<OffsetDateTime> lastTimeValueMatched(DevicePropertyId devicePropertyId, DevicePropertyValueType devicePropertyValueType, Object value);
 
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.repositories;
+
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueType;
+import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.lang.System.Logger.Level.ERROR;
+
+/**
+ * Persists values asynchronously. Values are put into a bounded queue and inserted in batches by a background thread,
+ * a batch is inserted when it is full or the max delay passed. Writing never blocks, values are dropped if the queue is full.
+ * {@link #close()} inserts all queued values before it returns.
+ */
+public class WriteBehindValueWriter implements AutoCloseable {
+
+  private static final System.Logger log = System.getLogger(WriteBehindValueWriter.class.getName());
+  private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+  private final DevicePropertyValueRepository devicePropertyValueRepository;
+  private final BlockingQueue<DevicePropertyValue> queue;
+  private final int batchSize;
+  private final long maxDelayInNanos;
+  private final Thread writerThread;
+  private final LongAdder insertedValues = new LongAdder();
+  private final LongAdder droppedValues = new LongAdder();
+  private final LongAdder failedValues = new LongAdder();
+  private final LongAdder insertedBatches = new LongAdder();
+  private final LongAdder insertLatencyInNanos = new LongAdder();
+  private final AtomicLong maxInsertLatencyInNanos = new AtomicLong();
+  // writers hold the read lock while they check running and enqueue, so no value is enqueued after the final drain
+  private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+  private volatile boolean running = true;
+
+  public WriteBehindValueWriter(DevicePropertyValueRepository devicePropertyValueRepository, int capacity, int batchSize, Duration maxDelay) {
+    this.devicePropertyValueRepository = devicePropertyValueRepository;
+    queue = new ArrayBlockingQueue<>(capacity);
+    this.batchSize = batchSize;
+    maxDelayInNanos = maxDelay.toNanos();
+    writerThread = new Thread(this::run, "write-behind-value-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  /**
+   * Queues a value for insertion.
+   *
+   * @param devicePropertyId        the device property id
+   * @param devicePropertyValueType the value type
+   * @param displayName             the display name of the device property
+   * @param value                   the value
+   * @return false if the value was dropped because the queue is full or the writer is closed
+   */
+  public boolean write(DevicePropertyId devicePropertyId, DevicePropertyValueType devicePropertyValueType, String displayName, DataWithTimestamp<?> value) {
+    closeLock.readLock().lock();
+    try {
+      if (running && queue.offer(new DevicePropertyValue(devicePropertyId, devicePropertyValueType, displayName, value))) {
+        return true;
+      }
+    } finally {
+      closeLock.readLock().unlock();
+    }
+    droppedValues.increment();
+    return false;
+  }
+
+  /**
+   * Stops accepting values and waits until all queued values are inserted.
+   */
+  @Override
+  public void close() {
+    stopAccepting();
+    try {
+      writerThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void stopAccepting() {
+    closeLock.writeLock().lock();
+    try {
+      running = false;
+    } finally {
+      closeLock.writeLock().unlock();
+    }
+  }
+
+  public int getQueueDepth() {
+    return queue.size();
+  }
+
+  public long getInsertedValueCount() {
+    return insertedValues.sum();
+  }
+
+  public long getDroppedValueCount() {
+    return droppedValues.sum();
+  }
+
+  public long getFailedValueCount() {
+    return failedValues.sum();
+  }
+
+  public Duration getAverageInsertLatency() {
+    long batches = insertedBatches.sum();
+    return batches == 0 ? Duration.ZERO : Duration.ofNanos(insertLatencyInNanos.sum() / batches);
+  }
+
+  public Duration getMaxInsertLatency() {
+    return Duration.ofNanos(maxInsertLatencyInNanos.get());
+  }
+
+  private void run() {
+    List<DevicePropertyValue> batch = new ArrayList<>(batchSize);
+    while (running) {
+      try {
+        DevicePropertyValue first = queue.poll(Math.min(maxDelayInNanos, MAX_WAIT_NANOS), TimeUnit.NANOSECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + maxDelayInNanos;
+        while (batch.size() < batchSize && running) {
+          queue.drainTo(batch, batchSize - batch.size());
+          long remaining = deadline - System.nanoTime();
+          if (batch.size() >= batchSize || remaining <= 0) {
+            break;
+          }
+          // wake up regularly so that close does not wait for the whole delay
+          DevicePropertyValue next = queue.poll(Math.min(remaining, MAX_WAIT_NANOS), TimeUnit.NANOSECONDS);
+          if (next != null) {
+            batch.add(next);
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        stopAccepting();
+      }
+      insert(batch);
+    }
+    while (!queue.isEmpty()) {
+      queue.drainTo(batch, batchSize);
+      insert(batch);
+    }
+  }
+
+  private void insert(List<DevicePropertyValue> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    long start = System.nanoTime();
+    try {
+      devicePropertyValueRepository.insertAll(batch);
+      long latency = System.nanoTime() - start;
+      insertedValues.add(batch.size());
+      insertedBatches.increment();
+      insertLatencyInNanos.add(latency);
+      maxInsertLatencyInNanos.accumulateAndGet(latency, Math::max);
+    } catch (RuntimeException e) {
+      failedValues.add(batch.size());
+      log.log(ERROR, "failed to insert " + batch.size() + " values", e);
+    }
+    batch.clear();
+  }
+}
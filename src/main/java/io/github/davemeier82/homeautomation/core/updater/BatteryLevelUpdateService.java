@@ -17,10 +17,15 @@
 package io.github.davemeier82.homeautomation.core.updater;
 
 import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 
 import java.time.OffsetDateTime;
 
 public interface BatteryLevelUpdateService {
 
   void setValue(Integer levelInPercent, OffsetDateTime timestamp, DevicePropertyId devicePropertyId, String displayName);
+
+  default void setValue(int levelInPercent, long epochMillis, DevicePropertyId devicePropertyId, String displayName) {
+    setValue(Integer.valueOf(levelInPercent), DataWithTimestamp.toOffsetDateTime(epochMillis), devicePropertyId, displayName);
+  }
 }
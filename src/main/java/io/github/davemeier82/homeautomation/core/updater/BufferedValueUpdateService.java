@@ -0,0 +1,240 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater;
+
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueKey;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueType;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.System.Logger.Level.ERROR;
+
+/**
+ * Decouples the callers, i.e. MQTT client threads, from the processing of the updates with a preallocated ring buffer.
+ * The updates are processed in order by a single background thread. If the buffer is full, a new update replaces the pending update
+ * of the same device property and value type, so that only the latest value per device property is kept. Callers are never blocked.
+ * Updates are only dropped if the buffer is full and more device properties than the capacity have pending updates.
+ */
+public class BufferedValueUpdateService implements ValueUpdateService, AutoCloseable {
+
+  private static final System.Logger log = System.getLogger(BufferedValueUpdateService.class.getName());
+
+  private final ValueUpdateService delegate;
+  private final Slot[] slots;
+  private final Map<DevicePropertyValueKey, Slot> pendingSlots = new HashMap<>();
+  private final Map<DevicePropertyValueKey, DevicePropertyValueUpdate> overflow = new LinkedHashMap<>();
+  private final int batchSize;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Thread consumerThread;
+  private final LongAdder enqueuedUpdates = new LongAdder();
+  private final LongAdder coalescedUpdates = new LongAdder();
+  private final LongAdder droppedUpdates = new LongAdder();
+  private final LongAdder processedUpdates = new LongAdder();
+  private long head;
+  private long tail;
+  private boolean consumerWaiting;
+  private volatile boolean running = true;
+
+  public BufferedValueUpdateService(ValueUpdateService delegate, int capacity, int batchSize) {
+    this.delegate = delegate;
+    slots = new Slot[capacity];
+    for (int i = 0; i < capacity; i++) {
+      slots[i] = new Slot();
+    }
+    this.batchSize = batchSize;
+    consumerThread = new Thread(this::run, "buffered-value-update-service");
+    consumerThread.setDaemon(true);
+    consumerThread.start();
+  }
+
+  @Override
+  public void update(DevicePropertyValueType devicePropertyValueType, Object value, OffsetDateTime timestamp, DevicePropertyId devicePropertyId, String displayName) {
+    DevicePropertyValueKey key = new DevicePropertyValueKey(devicePropertyId, devicePropertyValueType);
+    lock.lock();
+    try {
+      if (!running) {
+        droppedUpdates.increment();
+        return;
+      }
+      if (tail - head == slots.length || overflow.containsKey(key)) {
+        coalesce(key, value, timestamp, displayName);
+        return;
+      }
+      Slot slot = slots[(int) (tail++ % slots.length)];
+      slot.set(key, value, timestamp, displayName);
+      pendingSlots.put(key, slot);
+      enqueuedUpdates.increment();
+      if (consumerWaiting) {
+        notEmpty.signal();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void coalesce(DevicePropertyValueKey key, Object value, OffsetDateTime timestamp, String displayName) {
+    Slot pendingSlot = pendingSlots.get(key);
+    if (pendingSlot != null) {
+      pendingSlot.set(key, value, timestamp, displayName);
+      coalescedUpdates.increment();
+    } else if (overflow.size() < slots.length || overflow.containsKey(key)) {
+      // the update has to wait until there is space in the buffer, later updates of the device property replace it
+      if (overflow.put(key, new DevicePropertyValueUpdate(key.devicePropertyValueType(), value, timestamp, key.devicePropertyId(), displayName)) == null) {
+        enqueuedUpdates.increment();
+      } else {
+        coalescedUpdates.increment();
+      }
+    } else {
+      droppedUpdates.increment();
+    }
+  }
+
+  private void moveOverflowToBuffer() {
+    Iterator<DevicePropertyValueUpdate> iterator = overflow.values().iterator();
+    while (tail - head < slots.length && iterator.hasNext()) {
+      DevicePropertyValueUpdate update = iterator.next();
+      iterator.remove();
+      DevicePropertyValueKey key = new DevicePropertyValueKey(update.devicePropertyId(), update.devicePropertyValueType());
+      Slot slot = slots[(int) (tail++ % slots.length)];
+      slot.set(key, update.value(), update.timestamp(), update.displayName());
+      pendingSlots.put(key, slot);
+    }
+  }
+
+  /**
+   * Stops accepting updates and waits until the pending updates are processed.
+   */
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      running = false;
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+    try {
+      consumerThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public int getCapacity() {
+    return slots.length;
+  }
+
+  public int getPendingUpdateCount() {
+    lock.lock();
+    try {
+      return (int) (tail - head) + overflow.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getEnqueuedUpdateCount() {
+    return enqueuedUpdates.sum();
+  }
+
+  /**
+   * @return the number of updates that replaced a pending update of the same device property because the buffer was full
+   */
+  public long getCoalescedUpdateCount() {
+    return coalescedUpdates.sum();
+  }
+
+  /**
+   * @return the number of updates that were dropped because the buffer was full
+   */
+  public long getDroppedUpdateCount() {
+    return droppedUpdates.sum();
+  }
+
+  public long getProcessedUpdateCount() {
+    return processedUpdates.sum();
+  }
+
+  private void run() {
+    List<DevicePropertyValueUpdate> batch = new ArrayList<>(batchSize);
+    while (true) {
+      lock.lock();
+      try {
+        while (head == tail && running) {
+          consumerWaiting = true;
+          notEmpty.awaitUninterruptibly();
+          consumerWaiting = false;
+        }
+        if (head == tail) {
+          return;
+        }
+        while (head < tail && batch.size() < batchSize) {
+          Slot slot = slots[(int) (head++ % slots.length)];
+          batch.add(slot.toUpdate());
+          pendingSlots.remove(slot.key, slot);
+          slot.clear();
+        }
+        moveOverflowToBuffer();
+      } finally {
+        lock.unlock();
+      }
+      for (DevicePropertyValueUpdate update : batch) {
+        try {
+          delegate.update(update.devicePropertyValueType(), update.value(), update.timestamp(), update.devicePropertyId(), update.displayName());
+        } catch (RuntimeException e) {
+          log.log(ERROR, "failed to update " + update.devicePropertyId(), e);
+        }
+        processedUpdates.increment();
+      }
+      batch.clear();
+    }
+  }
+
+  private static class Slot {
+
+    private DevicePropertyValueKey key;
+    private Object value;
+    private OffsetDateTime timestamp;
+    private String displayName;
+
+    void set(DevicePropertyValueKey key, Object value, OffsetDateTime timestamp, String displayName) {
+      this.key = key;
+      this.value = value;
+      this.timestamp = timestamp;
+      this.displayName = displayName;
+    }
+
+    DevicePropertyValueUpdate toUpdate() {
+      return new DevicePropertyValueUpdate(key.devicePropertyValueType(), value, timestamp, key.devicePropertyId(), displayName);
+    }
+
+    void clear() {
+      set(null, null, null, null);
+    }
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater;
+
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueKey;
+import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
+
+/**
+ * Decides whether a new value counts as a change and a changed event is published.
+ * It is called while updates of the device property are serialized, so implementations can keep state per device property.
+ */
+public interface ChangeDetector {
+
+  /**
+   * @param key           the device property and value type
+   * @param previousValue the latest value before the new value or null if there is none
+   * @param newValue      the new value
+   * @return true if a changed event should be published
+   */
+  boolean hasChanged(DevicePropertyValueKey key, DataWithTimestamp<?> previousValue, DataWithTimestamp<?> newValue);
+}
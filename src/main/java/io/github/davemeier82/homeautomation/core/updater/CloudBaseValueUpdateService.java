@@ -17,10 +17,15 @@
 package io.github.davemeier82.homeautomation.core.updater;
 
 import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 
 import java.time.OffsetDateTime;
 
 public interface CloudBaseValueUpdateService {
 
   void setValue(Float meter, OffsetDateTime timestamp, DevicePropertyId devicePropertyId, String displayName);
+
+  default void setValue(float meter, long epochMillis, DevicePropertyId devicePropertyId, String displayName) {
+    setValue(Float.valueOf(meter), DataWithTimestamp.toOffsetDateTime(epochMillis), devicePropertyId, displayName);
+  }
 }
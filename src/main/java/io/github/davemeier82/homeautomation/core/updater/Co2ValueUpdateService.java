@@ -17,10 +17,15 @@
 package io.github.davemeier82.homeautomation.core.updater;
 
 import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 
 import java.time.OffsetDateTime;
 
 public interface Co2ValueUpdateService {
 
   void setValue(Integer ppm, OffsetDateTime timestamp, DevicePropertyId devicePropertyId, String displayName);
+
+  default void setValue(int ppm, long epochMillis, DevicePropertyId devicePropertyId, String displayName) {
+    setValue(Integer.valueOf(ppm), DataWithTimestamp.toOffsetDateTime(epochMillis), devicePropertyId, displayName);
+  }
 }
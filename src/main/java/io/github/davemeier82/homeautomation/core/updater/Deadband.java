@@ -0,0 +1,41 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater;
+
+/**
+ * Band around the last reported value in which a numeric value does not count as a change.
+ * A value is a change if it differs from the last reported value by more than the absolute deadband and
+ * by more than the relative deadband times the last reported value.
+ *
+ * @param absolute the absolute deadband in the unit of the value type
+ * @param relative the relative deadband, i.e. 0.01 for 1%
+ */
+public record Deadband(double absolute, double relative) {
+
+  public static Deadband absolute(double absolute) {
+    return new Deadband(absolute, 0);
+  }
+
+  public static Deadband relative(double relative) {
+    return new Deadband(0, relative);
+  }
+
+  public boolean isExceeded(double reference, double value) {
+    double difference = Math.abs(value - reference);
+    return difference > absolute && difference > relative * Math.abs(reference);
+  }
+}
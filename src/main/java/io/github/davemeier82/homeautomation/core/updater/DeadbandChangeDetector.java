@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater;
+
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueKey;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueType;
+import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
+import io.github.davemeier82.homeautomation.core.event.NumericDataWithTimestamp;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Suppresses changed events of noisy numeric sensors. A numeric value only counts as a change if it leaves the {@link Deadband} around the last value that was
+ * reported as a change. Because the comparison is against the last reported value and not the previous sample, slow drifts are still reported.
+ * Value types without a deadband and non-numeric values are compared with equals.
+ */
+public class DeadbandChangeDetector implements ChangeDetector {
+
+  private final ChangeDetector fallback = new EqualsChangeDetector();
+  private final Map<DevicePropertyValueType, Deadband> deadbandsByValueType = new ConcurrentHashMap<>();
+  private final Map<DevicePropertyValueKey, Deadband> deadbandsByDeviceProperty = new ConcurrentHashMap<>();
+  private final Map<DevicePropertyValueKey, Double> lastReportedValues = new ConcurrentHashMap<>();
+
+  public DeadbandChangeDetector() {
+  }
+
+  public DeadbandChangeDetector(Map<? extends DevicePropertyValueType, Deadband> deadbandsByValueType) {
+    this.deadbandsByValueType.putAll(deadbandsByValueType);
+  }
+
+  /**
+   * Sets the deadband of all device properties of a value type.
+   *
+   * @param devicePropertyValueType the value type
+   * @param deadband                the deadband
+   */
+  public void setDeadband(DevicePropertyValueType devicePropertyValueType, Deadband deadband) {
+    deadbandsByValueType.put(devicePropertyValueType, deadband);
+  }
+
+  /**
+   * Sets the deadband of a single device property, it overrides the deadband of the value type.
+   *
+   * @param key      the device property and value type
+   * @param deadband the deadband
+   */
+  public void setDeadband(DevicePropertyValueKey key, Deadband deadband) {
+    deadbandsByDeviceProperty.put(key, deadband);
+  }
+
+  @Override
+  public boolean hasChanged(DevicePropertyValueKey key, DataWithTimestamp<?> previousValue, DataWithTimestamp<?> newValue) {
+    Deadband deadband = getDeadband(key);
+    double value = deadband == null ? Double.NaN : toDouble(newValue);
+    if (Double.isNaN(value)) {
+      return fallback.hasChanged(key, previousValue, newValue);
+    }
+    Double reference = lastReportedValues.get(key);
+    if (reference == null && previousValue != null) {
+      reference = toDouble(previousValue);
+    }
+    if (reference == null || reference.isNaN() || deadband.isExceeded(reference, value)) {
+      lastReportedValues.put(key, value);
+      return true;
+    }
+    return false;
+  }
+
+  private static double toDouble(DataWithTimestamp<?> data) {
+    if (data instanceof NumericDataWithTimestamp numericData) {
+      return numericData.getDoubleValue();
+    }
+    if (data.getValue() instanceof Number number) {
+      return number.doubleValue();
+    }
+    return Double.NaN;
+  }
+
+  private Deadband getDeadband(DevicePropertyValueKey key) {
+    Deadband deadband = deadbandsByDeviceProperty.get(key);
+    if (deadband == null) {
+      deadband = deadbandsByValueType.get(key.devicePropertyValueType());
+    }
+    return deadband;
+  }
+}
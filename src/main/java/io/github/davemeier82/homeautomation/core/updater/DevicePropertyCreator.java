@@ -24,14 +24,30 @@ import io.github.davemeier82.homeautomation.core.event.EventPublisher;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyRepository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Creates device properties on their first value. Known device properties are cached, so that the repository is only accessed once per device property.
+ * Device properties that are modified or deleted have to be saved or deleted through {@link #save(DeviceProperty)} and {@link #delete(DevicePropertyId)}
+ * or evicted with {@link #evict(DevicePropertyId)}, otherwise the cache returns the stale device property.
+ */
 public class DevicePropertyCreator {
 
   protected final DevicePropertyRepository devicePropertyRepository;
   protected final DevicePropertyFactory devicePropertyFactory;
   protected final EventPublisher eventPublisher;
   protected final EventFactory eventFactory;
+  // the repository is accessed outside of the map operations, concurrent callers wait for the future of the first one
+  private final Map<DevicePropertyId, CompletableFuture<DeviceProperty>> knownDeviceProperties = new ConcurrentHashMap<>();
 
   public DevicePropertyCreator(DevicePropertyRepository devicePropertyRepository, DevicePropertyFactory devicePropertyFactory, EventPublisher eventPublisher, EventFactory eventFactory) {
     this.devicePropertyRepository = devicePropertyRepository;
@@ -41,14 +57,119 @@ public class DevicePropertyCreator {
   }
 
   public DeviceProperty createDevicePropertyIfItDoesNotExist(DevicePropertyId devicePropertyId, DevicePropertyType devicePropertyType, String displayName) {
-    Optional<DeviceProperty> devicePropertyOptional = devicePropertyRepository.findByDevicePropertyId(devicePropertyId);
-    if (devicePropertyOptional.isEmpty()) {
-      DeviceProperty deviceProperty = devicePropertyFactory.createDeviceProperty(devicePropertyId, devicePropertyType, displayName);
-      devicePropertyRepository.save(deviceProperty);
+    CompletableFuture<DeviceProperty> known = knownDeviceProperties.get(devicePropertyId);
+    if (known != null) {
+      return await(known);
+    }
+    Loading loading = new Loading();
+    known = knownDeviceProperties.putIfAbsent(devicePropertyId, loading);
+    if (known != null) {
+      if (known instanceof Loading other && other.thread == Thread.currentThread()) {
+        throw new IllegalStateException("device property " + devicePropertyId + " is created recursively");
+      }
+      return await(known);
+    }
+    AtomicBoolean created = new AtomicBoolean();
+    DeviceProperty deviceProperty;
+    try {
+      deviceProperty = findOrSave(devicePropertyId, devicePropertyType, displayName, created);
+    } catch (RuntimeException e) {
+      knownDeviceProperties.remove(devicePropertyId, loading);
+      loading.completeExceptionally(e);
+      throw e;
+    }
+    loading.complete(deviceProperty);
+    if (created.get()) {
       eventPublisher.publishEvent(eventFactory.createNewDevicePropertyCreatedEvent(devicePropertyId));
+    }
+    return deviceProperty;
+  }
+
+  public Map<DevicePropertyId, DeviceProperty> createDevicePropertiesIfTheyDoNotExist(Collection<DevicePropertyDefinition> definitions) {
+    Map<DevicePropertyId, DeviceProperty> deviceProperties = new HashMap<>();
+    List<DevicePropertyId> unknownDevicePropertyIds = new ArrayList<>();
+    for (DevicePropertyDefinition definition : definitions) {
+      CompletableFuture<DeviceProperty> known = knownDeviceProperties.get(definition.devicePropertyId());
+      if (known == null) {
+        unknownDevicePropertyIds.add(definition.devicePropertyId());
+      } else {
+        deviceProperties.put(definition.devicePropertyId(), await(known));
+      }
+    }
+    if (!unknownDevicePropertyIds.isEmpty()) {
+      devicePropertyRepository.findByDevicePropertyIds(unknownDevicePropertyIds)
+          .forEach((id, deviceProperty) -> knownDeviceProperties.putIfAbsent(id, CompletableFuture.completedFuture(deviceProperty)));
+      for (DevicePropertyDefinition definition : definitions) {
+        if (!deviceProperties.containsKey(definition.devicePropertyId())) {
+          deviceProperties.put(definition.devicePropertyId(),
+              createDevicePropertyIfItDoesNotExist(definition.devicePropertyId(), definition.devicePropertyType(), definition.displayName()));
+        }
+      }
+    }
+    return deviceProperties;
+  }
+
+  /**
+   * Saves a modified device property, e.g. after it was renamed, and replaces the cached one.
+   *
+   * @param deviceProperty the device property
+   */
+  public void save(DeviceProperty deviceProperty) {
+    devicePropertyRepository.save(deviceProperty);
+    knownDeviceProperties.put(deviceProperty.getId(), CompletableFuture.completedFuture(deviceProperty));
+  }
+
+  /**
+   * Deletes a device property, it is created again with its next value.
+   *
+   * @param devicePropertyId the device property id
+   */
+  public void delete(DevicePropertyId devicePropertyId) {
+    devicePropertyRepository.delete(devicePropertyId);
+    knownDeviceProperties.remove(devicePropertyId);
+  }
+
+  /**
+   * Removes a device property from the cache, e.g. after it was deleted or modified in the repository without this creator.
+   *
+   * @param devicePropertyId the device property id
+   */
+  public void evict(DevicePropertyId devicePropertyId) {
+    knownDeviceProperties.remove(devicePropertyId);
+  }
+
+  public void clear() {
+    knownDeviceProperties.clear();
+  }
+
+  private static DeviceProperty await(CompletableFuture<DeviceProperty> deviceProperty) {
+    try {
+      return deviceProperty.join();
+    } catch (CompletionException e) {
+      // the failure of the thread that accessed the repository
+      throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+    }
+  }
+
+  private DeviceProperty findOrSave(DevicePropertyId devicePropertyId, DevicePropertyType devicePropertyType, String displayName, AtomicBoolean created) {
+    Optional<DeviceProperty> existingDeviceProperty = devicePropertyRepository.findByDevicePropertyId(devicePropertyId);
+    if (existingDeviceProperty.isPresent()) {
+      return existingDeviceProperty.get();
+    }
+    DeviceProperty deviceProperty = devicePropertyFactory.createDeviceProperty(devicePropertyId, devicePropertyType, displayName);
+    if (devicePropertyRepository.saveIfAbsent(deviceProperty)) {
+      created.set(true);
       return deviceProperty;
     }
-    return devicePropertyOptional.get();
+    // another instance created it in the meantime
+    return devicePropertyRepository.findByDevicePropertyId(devicePropertyId).orElse(deviceProperty);
   }
 
+  /**
+   * The device property that is currently looked up or created by the thread.
+   */
+  private static final class Loading extends CompletableFuture<DeviceProperty> {
+
+    private final Thread thread = Thread.currentThread();
+  }
 }
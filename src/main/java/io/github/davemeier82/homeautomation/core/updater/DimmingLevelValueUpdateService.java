@@ -17,10 +17,15 @@
 package io.github.davemeier82.homeautomation.core.updater;
 
 import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 
 import java.time.OffsetDateTime;
 
 public interface DimmingLevelValueUpdateService {
 
   void setValue(Integer brightnessInPercent, OffsetDateTime timestamp, DevicePropertyId devicePropertyId, String displayName);
+
+  default void setValue(int brightnessInPercent, long epochMillis, DevicePropertyId devicePropertyId, String displayName) {
+    setValue(Integer.valueOf(brightnessInPercent), DataWithTimestamp.toOffsetDateTime(epochMillis), devicePropertyId, displayName);
+  }
 }
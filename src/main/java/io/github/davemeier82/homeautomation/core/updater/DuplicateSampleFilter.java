@@ -0,0 +1,163 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater;
+
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueKey;
+import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detects samples that were delivered more than once, e.g. MQTT QoS 1 redeliveries.
+ * The last samples of each device property are remembered and a sample with the same timestamp and value as one of them is a duplicate.
+ * A sample is only remembered once its update succeeded, so a sample whose update failed is not dropped when it is delivered again.
+ */
+public class DuplicateSampleFilter {
+
+  public static final int DEFAULT_MAXIMUM_SIZE = 100_000;
+
+  private final int windowSize;
+  private final int maximumSize;
+  private final Map<DevicePropertyValueKey, Window> windows = new ConcurrentHashMap<>();
+  private final LongAdder checkedSamples = new LongAdder();
+  private final LongAdder duplicateSamples = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * @param windowSize the number of samples that are remembered per device property
+   */
+  public DuplicateSampleFilter(int windowSize) {
+    this(windowSize, DEFAULT_MAXIMUM_SIZE);
+  }
+
+  /**
+   * @param windowSize  the number of samples that are remembered per device property
+   * @param maximumSize the maximum number of device properties whose samples are remembered
+   */
+  public DuplicateSampleFilter(int windowSize, int maximumSize) {
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("windowSize must be at least 1");
+    }
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("maximumSize must be at least 1");
+    }
+    this.windowSize = windowSize;
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * Checks a sample without remembering it.
+   *
+   * @param key    the device property and value type
+   * @param sample the sample
+   * @return true if the same sample was processed before
+   */
+  public boolean isDuplicate(DevicePropertyValueKey key, DataWithTimestamp<?> sample) {
+    checkedSamples.increment();
+    if (wasSeen(key, sample)) {
+      duplicateSamples.increment();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Like {@link #isDuplicate} but not counted, used to check a sample again under the lock of the device property.
+   *
+   * @param key    the device property and value type
+   * @param sample the sample
+   * @return true if the same sample was processed before
+   */
+  public boolean wasSeen(DevicePropertyValueKey key, DataWithTimestamp<?> sample) {
+    Window window = windows.get(key);
+    return window != null && window.contains(sample);
+  }
+
+  /**
+   * Remembers a sample after its update succeeded.
+   *
+   * @param key    the device property and value type
+   * @param sample the sample
+   */
+  public void remember(DevicePropertyValueKey key, DataWithTimestamp<?> sample) {
+    Window window = windows.get(key);
+    if (window == null) {
+      window = windows.computeIfAbsent(key, k -> new Window(windowSize));
+      if (windows.size() > maximumSize) {
+        evictOtherThan(key);
+      }
+    }
+    window.add(sample);
+  }
+
+  public long getCheckedSampleCount() {
+    return checkedSamples.sum();
+  }
+
+  public long getDuplicateSampleCount() {
+    return duplicateSamples.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  public int size() {
+    return windows.size();
+  }
+
+  private void evictOtherThan(DevicePropertyValueKey key) {
+    Iterator<DevicePropertyValueKey> iterator = windows.keySet().iterator();
+    while (iterator.hasNext()) {
+      if (!iterator.next().equals(key)) {
+        iterator.remove();
+        evictions.increment();
+        return;
+      }
+    }
+  }
+
+  private static class Window {
+
+    private final DataWithTimestamp<?>[] samples;
+    private int next;
+
+    Window(int size) {
+      samples = new DataWithTimestamp<?>[size];
+    }
+
+    synchronized boolean contains(DataWithTimestamp<?> sample) {
+      for (DataWithTimestamp<?> seen : samples) {
+        if (seen != null && sample.hasSameTimestamp(seen) && sample.hasSameValue(seen)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    synchronized void add(DataWithTimestamp<?> sample) {
+      if (contains(sample)) {
+        return;
+      }
+      samples[next] = sample;
+      next = (next + 1) % samples.length;
+    }
+  }
+}
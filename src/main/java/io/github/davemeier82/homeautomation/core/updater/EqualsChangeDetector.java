@@ -0,0 +1,31 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater;
+
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueKey;
+import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
+
+/**
+ * Every value that is not equal to the previous value is a change.
+ */
+public class EqualsChangeDetector implements ChangeDetector {
+
+  @Override
+  public boolean hasChanged(DevicePropertyValueKey key, DataWithTimestamp<?> previousValue, DataWithTimestamp<?> newValue) {
+    return previousValue == null || !previousValue.hasSameValue(newValue);
+  }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater;
+
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueKey;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueType;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.System.Logger.Level.ERROR;
+
+/**
+ * Processes the updates on an {@link Executor} instead of the calling thread, so that blocking repository calls do not tie up e.g. the MQTT client threads.
+ * Each device property and value type has a mailbox whose updates are processed one after the other in arrival order, mailboxes of different device properties
+ * are processed in parallel. With {@link #withVirtualThreads(ValueUpdateService)} every mailbox is drained on a virtual thread (requires Java 21).
+ * Idle mailboxes are removed. {@link #close()} waits for the pending updates and shuts down the executor if it was created by this service.
+ */
+public class ExecutorValueUpdateService implements ValueUpdateService, AutoCloseable {
+
+  private static final System.Logger log = System.getLogger(ExecutorValueUpdateService.class.getName());
+
+  private final ValueUpdateService delegate;
+  private final Executor executor;
+  private final boolean ownsExecutor;
+  private final Map<DevicePropertyValueKey, Mailbox> mailboxes = new ConcurrentHashMap<>();
+  private final LongAdder submittedUpdates = new LongAdder();
+  private final LongAdder processedUpdates = new LongAdder();
+  private final LongAdder failedUpdates = new LongAdder();
+  private volatile boolean closed;
+
+  public ExecutorValueUpdateService(ValueUpdateService delegate, Executor executor) {
+    this(delegate, executor, false);
+  }
+
+  private ExecutorValueUpdateService(ValueUpdateService delegate, Executor executor, boolean ownsExecutor) {
+    this.delegate = delegate;
+    this.executor = executor;
+    this.ownsExecutor = ownsExecutor;
+  }
+
+  /**
+   * @param delegate the service that processes the updates
+   * @return a service that processes the updates on virtual threads
+   * @throws UnsupportedOperationException if the runtime does not support virtual threads
+   */
+  public static ExecutorValueUpdateService withVirtualThreads(ValueUpdateService delegate) {
+    return new ExecutorValueUpdateService(delegate, newVirtualThreadPerTaskExecutor(), true);
+  }
+
+  private static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      throw new UnsupportedOperationException("virtual threads require Java 21 or newer", e);
+    }
+  }
+
+  @Override
+  public void update(DevicePropertyValueType devicePropertyValueType, Object value, OffsetDateTime timestamp, DevicePropertyId devicePropertyId, String displayName) {
+    submittedUpdates.increment();
+    if (closed) {
+      failedUpdates.increment();
+      processedUpdates.increment();
+      return;
+    }
+    DevicePropertyValueUpdate update = new DevicePropertyValueUpdate(devicePropertyValueType, value, timestamp, devicePropertyId, displayName);
+    // the update is added while the mailbox is locked in the map, so that a mailbox that removes itself because it is idle cannot miss it
+    Mailbox mailbox = mailboxes.compute(new DevicePropertyValueKey(devicePropertyId, devicePropertyValueType), (key, existing) -> {
+      Mailbox target = existing == null ? new Mailbox(key) : existing;
+      target.updates.add(update);
+      return target;
+    });
+    mailbox.start();
+  }
+
+  /**
+   * Stops accepting updates and waits until the pending updates are processed. The executor is shut down if it was created by this service.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    try {
+      synchronized (mailboxes) {
+        while (!mailboxes.isEmpty()) {
+          mailboxes.wait(100);
+        }
+      }
+      if (ownsExecutor) {
+        ExecutorService executorService = (ExecutorService) executor;
+        executorService.shutdown();
+        while (!executorService.awaitTermination(1, TimeUnit.MINUTES)) {
+          log.log(ERROR, "waiting for the update executor to terminate");
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public long getSubmittedUpdateCount() {
+    return submittedUpdates.sum();
+  }
+
+  public long getProcessedUpdateCount() {
+    return processedUpdates.sum();
+  }
+
+  public long getFailedUpdateCount() {
+    return failedUpdates.sum();
+  }
+
+  /**
+   * @return the number of updates that are submitted but not processed yet
+   */
+  public long getPendingUpdateCount() {
+    return submittedUpdates.sum() - processedUpdates.sum();
+  }
+
+  /**
+   * @return the number of device properties with pending updates
+   */
+  public int getMailboxCount() {
+    return mailboxes.size();
+  }
+
+  /**
+   * Exists while a device property has pending updates, it removes itself from the map once it is drained.
+   */
+  private class Mailbox implements Runnable {
+
+    private final DevicePropertyValueKey key;
+    private final Queue<DevicePropertyValueUpdate> updates = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    Mailbox(DevicePropertyValueKey key) {
+      this.key = key;
+    }
+
+    /**
+     * Schedules a new mailbox, a mailbox that is already scheduled processes the added update before it removes itself.
+     */
+    void start() {
+      if (started.compareAndSet(false, true)) {
+        try {
+          executor.execute(this);
+        } catch (RejectedExecutionException e) {
+          reject(e);
+        }
+      }
+    }
+
+    /**
+     * The executor is shut down or saturated, the mailbox is removed before the queued updates are dropped, so that no update can be added in between.
+     */
+    private void reject(RejectedExecutionException e) {
+      mailboxes.remove(key, this);
+      int rejectedUpdates = 0;
+      while (updates.poll() != null) {
+        rejectedUpdates++;
+      }
+      failedUpdates.add(rejectedUpdates);
+      processedUpdates.add(rejectedUpdates);
+      log.log(ERROR, "executor rejected " + rejectedUpdates + " updates", e);
+      signalIfDrained();
+    }
+
+    @Override
+    public void run() {
+      do {
+        DevicePropertyValueUpdate update;
+        while ((update = updates.poll()) != null) {
+          try {
+            delegate.update(update.devicePropertyValueType(), update.value(), update.timestamp(), update.devicePropertyId(), update.displayName());
+          } catch (RuntimeException e) {
+            failedUpdates.increment();
+            log.log(ERROR, "failed to update " + update.devicePropertyId(), e);
+          }
+          processedUpdates.increment();
+        }
+      } while (!removeIfIdle());
+      signalIfDrained();
+    }
+
+    private boolean removeIfIdle() {
+      return mailboxes.computeIfPresent(key, (k, mailbox) -> mailbox == this && updates.isEmpty() ? null : mailbox) != this;
+    }
+  }
+
+  private void signalIfDrained() {
+    if (closed && mailboxes.isEmpty()) {
+      synchronized (mailboxes) {
+        mailboxes.notifyAll();
+      }
+    }
+  }
+}
@@ -17,10 +17,15 @@
 package io.github.davemeier82.homeautomation.core.updater;
 
 import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 
 import java.time.OffsetDateTime;
 
 public interface HumidityValueUpdateService {
 
   void setValue(Float percent, OffsetDateTime timestamp, DevicePropertyId devicePropertyId, String displayName);
+
+  default void setValue(float percent, long epochMillis, DevicePropertyId devicePropertyId, String displayName) {
+    setValue(Float.valueOf(percent), DataWithTimestamp.toOffsetDateTime(epochMillis), devicePropertyId, displayName);
+  }
 }
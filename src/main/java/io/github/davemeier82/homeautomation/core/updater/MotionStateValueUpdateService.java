@@ -17,10 +17,15 @@
 package io.github.davemeier82.homeautomation.core.updater;
 
 import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 
 import java.time.OffsetDateTime;
 
 public interface MotionStateValueUpdateService {
 
   void setValue(Boolean isMotionDetected, OffsetDateTime timestamp, DevicePropertyId devicePropertyId, String displayName);
+
+  default void setValue(boolean isMotionDetected, long epochMillis, DevicePropertyId devicePropertyId, String displayName) {
+    setValue(Boolean.valueOf(isMotionDetected), DataWithTimestamp.toOffsetDateTime(epochMillis), devicePropertyId, displayName);
+  }
 }
@@ -17,10 +17,15 @@
 package io.github.davemeier82.homeautomation.core.updater;
 
 import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 
 import java.time.OffsetDateTime;
 
 public interface SmokeStateValueUpdateService {
 
   void setValue(Boolean isSmokeDetected, OffsetDateTime timestamp, DevicePropertyId devicePropertyId, String displayName);
+
+  default void setValue(boolean isSmokeDetected, long epochMillis, DevicePropertyId devicePropertyId, String displayName) {
+    setValue(Boolean.valueOf(isSmokeDetected), DataWithTimestamp.toOffsetDateTime(epochMillis), devicePropertyId, displayName);
+  }
 }
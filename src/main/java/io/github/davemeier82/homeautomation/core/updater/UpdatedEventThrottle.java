@@ -0,0 +1,257 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater;
+
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueKey;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.ALARM_STATE;
+import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.MOTION_STATE;
+import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.RELAY_STATE;
+import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.ROLLER_STATE;
+import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.SMOKE_STATE;
+import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.WINDOW_STATE;
+import static java.lang.System.Logger.Level.ERROR;
+
+/**
+ * Limits the updated events to at most a number of events per device property and interval.
+ * Events above the limit are not published immediately, only the most recent one is kept and handed to a {@link DelayedEventPublisher} at the end
+ * of the interval. Events of exempt value types (by default all state types) are never throttled.
+ * <p>
+ * The throttle only decides, publishing is left to the caller, so that the caller can publish the events in order with its other events.
+ * {@link #admit} and {@link #takePendingEvent} have to be called while the updates of the device property are excluded, e.g. under its lock.
+ */
+public class UpdatedEventThrottle implements AutoCloseable {
+
+  private static final System.Logger log = System.getLogger(UpdatedEventThrottle.class.getName());
+  private static final Duration IDLE_WINDOW_CLEANUP_INTERVAL = Duration.ofMinutes(1);
+
+  public static final Set<DevicePropertyValueType> DEFAULT_EXEMPT_VALUE_TYPES = Set.of(RELAY_STATE, MOTION_STATE, WINDOW_STATE, SMOKE_STATE, ALARM_STATE, ROLLER_STATE);
+
+  private final int maxEventsPerInterval;
+  private final long intervalInNanos;
+  private final Set<DevicePropertyValueType> exemptValueTypes;
+  private final ScheduledExecutorService scheduler;
+  private final boolean ownsScheduler;
+  private final Map<DevicePropertyValueKey, Window> windows = new ConcurrentHashMap<>();
+  private final LongAdder publishedEvents = new LongAdder();
+  private final LongAdder delayedEvents = new LongAdder();
+  private final LongAdder droppedEvents = new LongAdder();
+  private final ScheduledFuture<?> cleanup;
+
+  public UpdatedEventThrottle(int maxEventsPerInterval, Duration interval) {
+    this(maxEventsPerInterval, interval, DEFAULT_EXEMPT_VALUE_TYPES, Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "updated-event-throttle");
+      thread.setDaemon(true);
+      return thread;
+    }), true);
+  }
+
+  public UpdatedEventThrottle(int maxEventsPerInterval, Duration interval, Set<DevicePropertyValueType> exemptValueTypes, ScheduledExecutorService scheduler) {
+    this(maxEventsPerInterval, interval, exemptValueTypes, scheduler, false);
+  }
+
+  private UpdatedEventThrottle(int maxEventsPerInterval, Duration interval, Set<DevicePropertyValueType> exemptValueTypes, ScheduledExecutorService scheduler, boolean ownsScheduler) {
+    if (maxEventsPerInterval < 1) {
+      throw new IllegalArgumentException("maxEventsPerInterval must be at least 1");
+    }
+    this.maxEventsPerInterval = maxEventsPerInterval;
+    intervalInNanos = interval.toNanos();
+    this.exemptValueTypes = Set.copyOf(exemptValueTypes);
+    this.scheduler = scheduler;
+    this.ownsScheduler = ownsScheduler;
+    long cleanupIntervalInNanos = Math.max(intervalInNanos, IDLE_WINDOW_CLEANUP_INTERVAL.toNanos());
+    cleanup = scheduler.scheduleWithFixedDelay(this::removeIdleWindows, cleanupIntervalInNanos, cleanupIntervalInNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Decides whether an updated event is published now. An event above the limit replaces the pending event of the device property,
+   * which is handed to the delayed publisher at the end of the interval.
+   *
+   * @param key                   the device property and value type of the event
+   * @param event                 the updated event
+   * @param delayedEventPublisher publishes the pending event at the end of the interval
+   * @return true if the caller has to publish the event now
+   */
+  public boolean admit(DevicePropertyValueKey key, Object event, DelayedEventPublisher delayedEventPublisher) {
+    if (exemptValueTypes.contains(key.devicePropertyValueType())) {
+      publishedEvents.increment();
+      return true;
+    }
+    return windows.computeIfAbsent(key, Window::new).admit(event, delayedEventPublisher);
+  }
+
+  /**
+   * Takes the pending event of a device property to publish it now, e.g. before a changed event, so that no updated event is delivered after
+   * the changed event of a later value.
+   *
+   * @param key the device property and value type
+   * @return the pending event or null
+   */
+  public Object takePendingEvent(DevicePropertyValueKey key) {
+    Window window = windows.get(key);
+    return window == null ? null : window.takePendingEvent(false);
+  }
+
+  /**
+   * Hands all pending events to their delayed publishers.
+   */
+  public void flush() {
+    windows.values().forEach(Window::flush);
+  }
+
+  @Override
+  public void close() {
+    cleanup.cancel(false);
+    flush();
+    if (ownsScheduler) {
+      scheduler.shutdown();
+    }
+  }
+
+  /**
+   * @return the number of device properties whose interval is tracked
+   */
+  public int getWindowCount() {
+    return windows.size();
+  }
+
+  /**
+   * @return the number of events that were published, including delayed events
+   */
+  public long getPublishedEventCount() {
+    return publishedEvents.sum();
+  }
+
+  /**
+   * @return the number of events that were published at the end of an interval
+   */
+  public long getDelayedEventCount() {
+    return delayedEvents.sum();
+  }
+
+  /**
+   * @return the number of events that were replaced by a more recent event and never published
+   */
+  public long getDroppedEventCount() {
+    return droppedEvents.sum();
+  }
+
+  private void removeIdleWindows() {
+    long now = System.nanoTime();
+    windows.values().removeIf(window -> window.isIdle(now));
+  }
+
+  /**
+   * Publishes the pending event of a device property at the end of an interval.
+   */
+  @FunctionalInterface
+  public interface DelayedEventPublisher {
+
+    /**
+     * Called by the scheduler of the throttle. Implementations have to exclude updates of the device property, take the event with the supplier
+     * and publish it in order with the other events of the device property.
+     *
+     * @param key          the device property and value type
+     * @param pendingEvent returns the pending event or null if it was already published
+     */
+    void publishDelayed(DevicePropertyValueKey key, Supplier<Object> pendingEvent);
+  }
+
+  private class Window {
+
+    private final DevicePropertyValueKey key;
+    private long start;
+    private int count;
+    private Object pendingEvent;
+    private DelayedEventPublisher delayedEventPublisher;
+
+    Window(DevicePropertyValueKey key) {
+      this.key = key;
+      start = System.nanoTime() - intervalInNanos;
+    }
+
+    synchronized boolean admit(Object event, DelayedEventPublisher delayedEventPublisher) {
+      long now = System.nanoTime();
+      if (pendingEvent == null && now - start >= intervalInNanos) {
+        start = now;
+        count = 0;
+      }
+      if (count < maxEventsPerInterval) {
+        count++;
+        publishedEvents.increment();
+        return true;
+      }
+      if (pendingEvent == null) {
+        scheduler.schedule(this::flush, start + intervalInNanos - now, TimeUnit.NANOSECONDS);
+      } else {
+        droppedEvents.increment();
+      }
+      pendingEvent = event;
+      this.delayedEventPublisher = delayedEventPublisher;
+      return false;
+    }
+
+    synchronized Object takePendingEvent(boolean delayed) {
+      Object event = pendingEvent;
+      if (event == null) {
+        return null;
+      }
+      pendingEvent = null;
+      delayedEventPublisher = null;
+      // the pending event counts towards the next interval
+      start = System.nanoTime();
+      count = 1;
+      publishedEvents.increment();
+      if (delayed) {
+        delayedEvents.increment();
+      }
+      return event;
+    }
+
+    synchronized boolean isIdle(long now) {
+      return pendingEvent == null && now - start >= intervalInNanos;
+    }
+
+    void flush() {
+      DelayedEventPublisher publisher;
+      synchronized (this) {
+        publisher = delayedEventPublisher;
+      }
+      if (publisher == null) {
+        return;
+      }
+      // the publisher takes the event under its own lock, taking it here would allow a newer event to overtake it
+      try {
+        publisher.publishDelayed(key, () -> takePendingEvent(true));
+      } catch (RuntimeException e) {
+        log.log(ERROR, "failed to publish delayed event of " + key, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater;
+
+import io.github.davemeier82.homeautomation.core.repositories.WriteBehindValueWriter;
+
+import java.util.Optional;
+
+/**
+ * Immutable options of the value update services.
+ */
+public final class ValueUpdateOptions {
+
+  private static final ValueUpdateOptions DEFAULTS = new ValueUpdateOptions(new EqualsChangeDetector(), null, null, null);
+
+  private final ChangeDetector changeDetector;
+  private final UpdatedEventThrottle updatedEventThrottle;
+  private final WriteBehindValueWriter valueWriter;
+  private final DuplicateSampleFilter duplicateSampleFilter;
+
+  private ValueUpdateOptions(ChangeDetector changeDetector,
+                             UpdatedEventThrottle updatedEventThrottle,
+                             WriteBehindValueWriter valueWriter,
+                             DuplicateSampleFilter duplicateSampleFilter
+  ) {
+    this.changeDetector = changeDetector;
+    this.updatedEventThrottle = updatedEventThrottle;
+    this.valueWriter = valueWriter;
+    this.duplicateSampleFilter = duplicateSampleFilter;
+  }
+
+  public static ValueUpdateOptions defaults() {
+    return DEFAULTS;
+  }
+
+  public ValueUpdateOptions withChangeDetector(ChangeDetector changeDetector) {
+    return new ValueUpdateOptions(changeDetector, updatedEventThrottle, valueWriter, duplicateSampleFilter);
+  }
+
+  /**
+   * @param updatedEventThrottle limits the updated events per device property, changed events are never throttled
+   * @return options with the throttle
+   */
+  public ValueUpdateOptions withUpdatedEventThrottle(UpdatedEventThrottle updatedEventThrottle) {
+    return new ValueUpdateOptions(changeDetector, updatedEventThrottle, valueWriter, duplicateSampleFilter);
+  }
+
+  /**
+   * @param valueWriter persists every new value asynchronously, including samples that arrived late
+   * @return options with the writer
+   */
+  public ValueUpdateOptions withValueWriter(WriteBehindValueWriter valueWriter) {
+    return new ValueUpdateOptions(changeDetector, updatedEventThrottle, valueWriter, duplicateSampleFilter);
+  }
+
+  /**
+   * @param duplicateSampleFilter drops samples that were already processed before anything else is done
+   * @return options with the filter
+   */
+  public ValueUpdateOptions withDuplicateSampleFilter(DuplicateSampleFilter duplicateSampleFilter) {
+    return new ValueUpdateOptions(changeDetector, updatedEventThrottle, valueWriter, duplicateSampleFilter);
+  }
+
+  public ChangeDetector getChangeDetector() {
+    return changeDetector;
+  }
+
+  public Optional<UpdatedEventThrottle> getUpdatedEventThrottle() {
+    return Optional.ofNullable(updatedEventThrottle);
+  }
+
+  public Optional<WriteBehindValueWriter> getValueWriter() {
+    return Optional.ofNullable(valueWriter);
+  }
+
+  public Optional<DuplicateSampleFilter> getDuplicateSampleFilter() {
+    return Optional.ofNullable(duplicateSampleFilter);
+  }
+}
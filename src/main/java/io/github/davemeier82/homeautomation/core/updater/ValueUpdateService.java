@@ -0,0 +1,42 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater;
+
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueType;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Single entry point to update values of any {@link DevicePropertyValueType}.
+ */
+public interface ValueUpdateService {
+
+  /**
+   * Updates the value and publishes the resulting events. The events of a device property are published in the order of the updates.
+   * Unless stated otherwise by the implementation, the events are delivered before the method returns and exceptions of the listeners are rethrown.
+   * If it is called by a listener of a value event, e.g. to derive one value from another, the events can also be delivered by the thread that
+   * currently publishes the events of the device property, after the method returned. Exceptions of the listeners are then only logged.
+   *
+   * @param devicePropertyValueType the type of the value
+   * @param value                   the new value, it has to be an instance of {@link DevicePropertyValueType#getClazz()}
+   * @param timestamp               the time of the value
+   * @param devicePropertyId        the device property id
+   * @param displayName             the display name used if the device property does not exist yet
+   */
+  void update(DevicePropertyValueType devicePropertyValueType, Object value, OffsetDateTime timestamp, DevicePropertyId devicePropertyId, String displayName);
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater.defaults;
+
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.IntegerDataWithTimestamp;
+import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
+import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
+
+/**
+ * Value update service with an update path for primitive int values that does not box the value.
+ */
+public abstract class AbstractIntegerValueUpdateService extends AbstractValueUpdateService<Integer> {
+
+  protected AbstractIntegerValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                              DevicePropertyCreator devicePropertyCreator,
+                                              EventPublisher eventPublisher,
+                                              ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, Integer.class, valueUpdateOptions);
+  }
+
+  public void setValue(int value, long epochMillis, DevicePropertyId devicePropertyId, String displayName) {
+    setValue(new IntegerDataWithTimestamp(epochMillis, value), devicePropertyId, displayName);
+  }
+}
@@ -19,31 +19,74 @@ package io.github.davemeier82.homeautomation.core.updater.defaults;
 import io.github.davemeier82.homeautomation.core.device.property.DeviceProperty;
 import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
 import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyType;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueKey;
 import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueType;
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
+import io.github.davemeier82.homeautomation.core.event.DevicePropertyChangedEvent;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
+import io.github.davemeier82.homeautomation.core.event.DevicePropertyUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.repositories.CachingDevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
+import io.github.davemeier82.homeautomation.core.repositories.WriteBehindValueWriter;
+import io.github.davemeier82.homeautomation.core.updater.ChangeDetector;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
+import io.github.davemeier82.homeautomation.core.updater.DevicePropertyDefinition;
+import io.github.davemeier82.homeautomation.core.updater.DuplicateSampleFilter;
+import io.github.davemeier82.homeautomation.core.updater.UpdatedEventThrottle;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdate;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
 
 public abstract class AbstractValueUpdateService<T> {
 
-  private final DevicePropertyValueRepository devicePropertyValueRepository;
+  private static final int LOCK_STRIPES = 64;
+
+  private final CachingDevicePropertyValueRepository devicePropertyValueRepository;
   private final EventPublisher eventPublisher;
   private final DevicePropertyCreator devicePropertyCreator;
   private final Class<T> clazz;
+  private final ChangeDetector changeDetector;
+  private final UpdatedEventThrottle updatedEventThrottle;
+  private final WriteBehindValueWriter valueWriter;
+  private final DuplicateSampleFilter duplicateSampleFilter;
+  private final StripedLock locks = new StripedLock(LOCK_STRIPES);
+  private final OrderedEventHandoff eventHandoff = new OrderedEventHandoff(LOCK_STRIPES);
+  private final LongAdder lateSamples = new LongAdder();
 
   protected AbstractValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
                                        DevicePropertyCreator devicePropertyCreator,
                                        EventPublisher eventPublisher,
                                        Class<T> clazz
   ) {
-    this.devicePropertyValueRepository = devicePropertyValueRepository;
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, clazz, ValueUpdateOptions.defaults());
+  }
+
+  protected AbstractValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                       DevicePropertyCreator devicePropertyCreator,
+                                       EventPublisher eventPublisher,
+                                       Class<T> clazz,
+                                       ValueUpdateOptions valueUpdateOptions
+  ) {
+    this.devicePropertyValueRepository = devicePropertyValueRepository instanceof CachingDevicePropertyValueRepository cachingRepository
+        ? cachingRepository
+        : new CachingDevicePropertyValueRepository(devicePropertyValueRepository);
     this.devicePropertyCreator = devicePropertyCreator;
     this.eventPublisher = eventPublisher;
     this.clazz = clazz;
+    changeDetector = valueUpdateOptions.getChangeDetector();
+    updatedEventThrottle = valueUpdateOptions.getUpdatedEventThrottle().orElse(null);
+    valueWriter = valueUpdateOptions.getValueWriter().orElse(null);
+    duplicateSampleFilter = valueUpdateOptions.getDuplicateSampleFilter().orElse(null);
   }
 
   protected abstract DevicePropertyType getDevicePropertyType();
@@ -54,15 +97,197 @@ public abstract class AbstractValueUpdateService<T> {
 
   protected abstract DevicePropertyEvent<T> createChangedEvent(DevicePropertyId devicePropertyId, DataWithTimestamp<T> newValue, DataWithTimestamp<T> previousValue, String displayName);
 
+  /**
+   * @return the type of the updated events, used to skip creating them if nobody subscribed
+   */
+  protected Class<?> getUpdatedEventType() {
+    return DevicePropertyUpdatedEvent.class;
+  }
+
+  /**
+   * @return the type of the changed events, used to skip creating them if nobody subscribed
+   */
+  protected Class<?> getChangedEventType() {
+    return DevicePropertyChangedEvent.class;
+  }
+
+  /**
+   * Updates the value, the events are published as described in {@link io.github.davemeier82.homeautomation.core.updater.ValueUpdateService#update}.
+   *
+   * @param value            the new value
+   * @param timestamp        the time of the value
+   * @param devicePropertyId the device property id
+   * @param displayName      the display name used if the device property does not exist yet
+   */
   public void setValue(T value, OffsetDateTime timestamp, DevicePropertyId devicePropertyId, String displayName) {
+    setValue(new DataWithTimestamp<>(timestamp, value), devicePropertyId, displayName);
+  }
+
+  void castAndSetValue(Object value, OffsetDateTime timestamp, DevicePropertyId devicePropertyId, String displayName) {
+    setValue(new DataWithTimestamp<>(timestamp, clazz.cast(value)), devicePropertyId, displayName);
+  }
+
+  protected void setValue(DataWithTimestamp<T> value, DevicePropertyId devicePropertyId, String displayName) {
+    if (isDuplicate(devicePropertyId, value)) {
+      return;
+    }
     DeviceProperty deviceProperty = devicePropertyCreator.createDevicePropertyIfItDoesNotExist(devicePropertyId, getDevicePropertyType(), displayName);
-    DataWithTimestamp<T> previousValue = devicePropertyValueRepository.findLatestValue(devicePropertyId, getDevicePropertyValueType(), clazz).orElse(null);
-    DataWithTimestamp<T> newValue = new DataWithTimestamp<>(timestamp, value);
+    update(deviceProperty, value);
+  }
 
-    eventPublisher.publishEvent(createUpdatedEvent(devicePropertyId, newValue, previousValue, deviceProperty.getDisplayName()));
-    if (previousValue == null || !previousValue.getValue().equals(newValue.getValue())) {
-      eventPublisher.publishEvent(createChangedEvent(devicePropertyId, newValue, previousValue, deviceProperty.getDisplayName()));
+  /**
+   * Updates several values at once. The device properties and previous values are resolved in bulk and the events are published in the order of the updates.
+   *
+   * @param updates the new values
+   */
+  public void setValues(Collection<ValueUpdate<T>> updates) {
+    List<ValueUpdate<T>> newUpdates = updates.stream().filter(u -> !isDuplicate(u.devicePropertyId(), new DataWithTimestamp<>(u.timestamp(), u.value()))).toList();
+    if (newUpdates.isEmpty()) {
+      return;
     }
+    Map<DevicePropertyId, DeviceProperty> deviceProperties = devicePropertyCreator.createDevicePropertiesIfTheyDoNotExist(
+        newUpdates.stream().map(u -> new DevicePropertyDefinition(u.devicePropertyId(), getDevicePropertyType(), u.displayName())).toList());
+    prefetch(newUpdates.stream().map(u -> new DevicePropertyValueKey(u.devicePropertyId(), getDevicePropertyValueType())).distinct().toList());
+    for (ValueUpdate<T> valueUpdate : newUpdates) {
+      update(deviceProperties.get(valueUpdate.devicePropertyId()), new DataWithTimestamp<>(valueUpdate.timestamp(), valueUpdate.value()));
+    }
+  }
+
+  /**
+   * Loads the latest values of the device properties into the cache of this service with one repository call.
+   *
+   * @param keys the device properties and value types, all of the value type of this service
+   */
+  void prefetch(Collection<DevicePropertyValueKey> keys) {
+    devicePropertyValueRepository.findLatestValues(keys);
+  }
+
+  void update(DeviceProperty deviceProperty, Object value, OffsetDateTime timestamp) {
+    update(deviceProperty, new DataWithTimestamp<>(timestamp, clazz.cast(value)));
+  }
+
+  boolean isDuplicate(DevicePropertyId devicePropertyId, Object value, OffsetDateTime timestamp) {
+    return isDuplicate(devicePropertyId, new DataWithTimestamp<>(timestamp, value));
+  }
+
+  /**
+   * Drops duplicates before device properties are created or values are loaded. The sample is only remembered by {@link #update} once it was applied.
+   */
+  private boolean isDuplicate(DevicePropertyId devicePropertyId, DataWithTimestamp<?> value) {
+    return duplicateSampleFilter != null && duplicateSampleFilter.isDuplicate(new DevicePropertyValueKey(devicePropertyId, getDevicePropertyValueType()), value);
+  }
+
+  private void update(DeviceProperty deviceProperty, DataWithTimestamp<T> newValue) {
+    DevicePropertyId devicePropertyId = deviceProperty.getId();
+    OrderedEventHandoff.Batch events;
+    boolean late = false;
+    // reading the previous value, comparing and creating the events has to be atomic per device property to not emit duplicate changed events.
+    // The events are published after the lock is released, so listeners can update values without deadlocking.
+    Lock lock = locks.get(devicePropertyId);
+    lock.lock();
+    try {
+      DevicePropertyValueKey key = new DevicePropertyValueKey(devicePropertyId, getDevicePropertyValueType());
+      // checked again, the same sample can be redelivered while the first delivery is still being processed
+      if (duplicateSampleFilter != null && duplicateSampleFilter.wasSeen(key, newValue)) {
+        return;
+      }
+      DataWithTimestamp<T> previousValue = devicePropertyValueRepository.findLatestValue(devicePropertyId, getDevicePropertyValueType(), clazz).orElse(null);
+      if (previousValue != null && newValue.isBefore(previousValue)) {
+        lateSamples.increment();
+        rememberSample(key, newValue);
+        late = true;
+        return;
+      }
+      devicePropertyValueRepository.updateLatestValue(devicePropertyId, getDevicePropertyValueType(), newValue);
+      if (valueWriter != null) {
+        valueWriter.write(devicePropertyId, getDevicePropertyValueType(), deviceProperty.getDisplayName(), newValue);
+      }
+      rememberSample(key, newValue);
+
+      List<Runnable> publications = new ArrayList<>(2);
+      if (eventPublisher.hasSubscribers(getUpdatedEventType())) {
+        DevicePropertyEvent<T> updatedEvent = createUpdatedEvent(devicePropertyId, newValue, previousValue, deviceProperty.getDisplayName());
+        if (updatedEventThrottle == null || updatedEventThrottle.admit(key, updatedEvent, this::publishDelayed)) {
+          publications.add(() -> eventPublisher.publishEvent(updatedEvent));
+        }
+      }
+      // the change detector is always asked, as it can keep state about the last reported value
+      if (changeDetector.hasChanged(key, previousValue, newValue) && eventPublisher.hasSubscribers(getChangedEventType())) {
+        DevicePropertyEvent<T> changedEvent = createChangedEvent(devicePropertyId, newValue, previousValue, deviceProperty.getDisplayName());
+        // a throttled updated event is published before the changed event, it must not arrive after the changed event of a later value
+        Object pendingUpdatedEvent = updatedEventThrottle == null ? null : updatedEventThrottle.takePendingEvent(key);
+        if (pendingUpdatedEvent != null) {
+          publications.add(() -> eventPublisher.publishEvent(pendingUpdatedEvent));
+        }
+        publications.add(() -> eventPublisher.publishEvent(changedEvent));
+      }
+      if (publications.isEmpty()) {
+        return;
+      }
+      events = eventHandoff.enqueue(devicePropertyId, publications);
+    } finally {
+      lock.unlock();
+      // the late branch returns early, the sample is persisted once the lock is released
+      if (late) {
+        backfill(deviceProperty, newValue);
+      }
+    }
+    eventHandoff.publish(devicePropertyId, events);
+  }
+
+  private void rememberSample(DevicePropertyValueKey key, DataWithTimestamp<T> value) {
+    if (duplicateSampleFilter != null) {
+      duplicateSampleFilter.remember(key, value);
+    }
+  }
+
+  /**
+   * Publishes the updated event that the throttle delayed, in order with the other events of the device property.
+   */
+  private void publishDelayed(DevicePropertyValueKey key, Supplier<Object> pendingEvent) {
+    DevicePropertyId devicePropertyId = key.devicePropertyId();
+    OrderedEventHandoff.Batch events;
+    Lock lock = locks.get(devicePropertyId);
+    lock.lock();
+    try {
+      Object event = pendingEvent.get();
+      if (event == null) {
+        return;
+      }
+      events = eventHandoff.enqueue(devicePropertyId, List.of(() -> eventPublisher.publishEvent(event)));
+    } finally {
+      lock.unlock();
+    }
+    eventHandoff.publish(devicePropertyId, events);
+  }
+
+  /**
+   * A sample that is older than the latest value arrived late, e.g. from the buffer of a gateway.
+   * It does not replace the latest value and no events are published for it, so it is persisted here. This happens after the lock of the device property
+   * is released, a blocking insert must not delay the other updates of the device property.
+   */
+  private void backfill(DeviceProperty deviceProperty, DataWithTimestamp<T> lateValue) {
+    if (valueWriter != null) {
+      valueWriter.write(deviceProperty.getId(), getDevicePropertyValueType(), deviceProperty.getDisplayName(), lateValue);
+    } else {
+      devicePropertyValueRepository.insert(deviceProperty.getId(), getDevicePropertyValueType(), deviceProperty.getDisplayName(), lateValue.getValue(),
+          lateValue.getDateTime());
+    }
+  }
+
+  /**
+   * @param devicePropertyId the device property id
+   * @return the event time up to which values of the device property were processed
+   */
+  public Optional<OffsetDateTime> getWatermark(DevicePropertyId devicePropertyId) {
+    return devicePropertyValueRepository.findLatestValue(devicePropertyId, getDevicePropertyValueType(), clazz).map(DataWithTimestamp::getDateTime);
+  }
+
+  /**
+   * @return the number of samples that arrived after a more recent sample of the same device property
+   */
+  public long getLateSampleCount() {
+    return lateSamples.sum();
   }
 
 }
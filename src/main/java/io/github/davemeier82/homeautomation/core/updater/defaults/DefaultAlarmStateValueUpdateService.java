@@ -23,10 +23,13 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyV
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.AlarmStateChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.AlarmStateUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.AlarmStateValueUpdateService;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyType.ALARM;
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.ALARM_STATE;
@@ -40,7 +43,16 @@ public class DefaultAlarmStateValueUpdateService extends AbstractValueUpdateServ
                                              EventPublisher eventPublisher,
                                              EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, AlarmState.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultAlarmStateValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                             DevicePropertyCreator devicePropertyCreator,
+                                             EventPublisher eventPublisher,
+                                             EventFactory eventFactory,
+                                             ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, AlarmState.class, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -72,4 +84,14 @@ public class DefaultAlarmStateValueUpdateService extends AbstractValueUpdateServ
     return eventFactory.createAlarmStateChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return AlarmStateUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return AlarmStateChangedEvent.class;
+  }
+
 }
@@ -22,15 +22,18 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyV
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.BatteryLevelChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.BatteryLevelUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.BatteryLevelUpdateService;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyType.BATTERY_STATE_SENSOR;
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.BATTERY_LEVEL;
 
-public class DefaultBatteryLevelValueUpdateService extends AbstractValueUpdateService<Integer> implements BatteryLevelUpdateService {
+public class DefaultBatteryLevelValueUpdateService extends AbstractIntegerValueUpdateService implements BatteryLevelUpdateService {
 
   private final EventFactory eventFactory;
 
@@ -39,7 +42,16 @@ public class DefaultBatteryLevelValueUpdateService extends AbstractValueUpdateSe
                                                EventPublisher eventPublisher,
                                                EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, Integer.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultBatteryLevelValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                               DevicePropertyCreator devicePropertyCreator,
+                                               EventPublisher eventPublisher,
+                                               EventFactory eventFactory,
+                                               ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -63,4 +75,14 @@ public class DefaultBatteryLevelValueUpdateService extends AbstractValueUpdateSe
     return eventFactory.createBatteryLevelChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return BatteryLevelUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return BatteryLevelChangedEvent.class;
+  }
+
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater.defaults;
+
+import io.github.davemeier82.homeautomation.core.device.property.DeviceProperty;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueKey;
+import io.github.davemeier82.homeautomation.core.updater.BulkValueUpdateService;
+import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
+import io.github.davemeier82.homeautomation.core.updater.DevicePropertyDefinition;
+import io.github.davemeier82.homeautomation.core.updater.DevicePropertyValueUpdate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.groupingBy;
+
+/**
+ * Routes updates of different types to the matching {@link AbstractValueUpdateService}.
+ * The previous values are loaded with one repository call per value type into the cache of the service that handles the value type.
+ */
+public class DefaultBulkValueUpdateService implements BulkValueUpdateService {
+
+  private final ValueUpdateServiceRegistry registry;
+  private final DevicePropertyCreator devicePropertyCreator;
+
+  public DefaultBulkValueUpdateService(Collection<? extends AbstractValueUpdateService<?>> valueUpdateServices,
+                                       DevicePropertyCreator devicePropertyCreator
+  ) {
+    registry = new ValueUpdateServiceRegistry(valueUpdateServices);
+    this.devicePropertyCreator = devicePropertyCreator;
+  }
+
+  @Override
+  public void setValues(Collection<DevicePropertyValueUpdate> updates) {
+    // duplicates are dropped first, so that they neither create device properties nor load values
+    List<DevicePropertyValueUpdate> newUpdates = updates.stream()
+        .filter(u -> !registry.get(u.devicePropertyValueType()).isDuplicate(u.devicePropertyId(), u.value(), u.timestamp()))
+        .toList();
+    if (newUpdates.isEmpty()) {
+      return;
+    }
+    Map<DevicePropertyId, DeviceProperty> deviceProperties = devicePropertyCreator.createDevicePropertiesIfTheyDoNotExist(
+        newUpdates.stream().map(u -> new DevicePropertyDefinition(u.devicePropertyId(), registry.get(u.devicePropertyValueType()).getDevicePropertyType(), u.displayName())).toList());
+    newUpdates.stream()
+        .map(u -> new DevicePropertyValueKey(u.devicePropertyId(), u.devicePropertyValueType()))
+        .distinct()
+        .collect(groupingBy(DevicePropertyValueKey::devicePropertyValueType))
+        .forEach((valueType, keys) -> registry.get(valueType).prefetch(keys));
+    for (DevicePropertyValueUpdate valueUpdate : newUpdates) {
+      registry.get(valueUpdate.devicePropertyValueType()).update(deviceProperties.get(valueUpdate.devicePropertyId()), valueUpdate.value(), valueUpdate.timestamp());
+    }
+  }
+}
@@ -22,15 +22,18 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyV
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.CloudBaseChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.CloudBaseUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.CloudBaseValueUpdateService;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyType.CLOUD_BASE_SENSOR;
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.CLOUD_BASE;
 
-public class DefaultCloudBaseValueUpdateService extends AbstractValueUpdateService<Float> implements CloudBaseValueUpdateService {
+public class DefaultCloudBaseValueUpdateService extends AbstractFloatValueUpdateService implements CloudBaseValueUpdateService {
 
   private final EventFactory eventFactory;
 
@@ -39,7 +42,16 @@ public class DefaultCloudBaseValueUpdateService extends AbstractValueUpdateServi
                                             EventPublisher eventPublisher,
                                             EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, Float.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultCloudBaseValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                            DevicePropertyCreator devicePropertyCreator,
+                                            EventPublisher eventPublisher,
+                                            EventFactory eventFactory,
+                                            ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -63,4 +75,14 @@ public class DefaultCloudBaseValueUpdateService extends AbstractValueUpdateServi
     return eventFactory.createCloudBaseChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return CloudBaseUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return CloudBaseChangedEvent.class;
+  }
+
 }
@@ -22,15 +22,18 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyV
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.Co2LevelChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.Co2LevelUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.Co2ValueUpdateService;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyType.CO2_SENSOR;
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.CO2_LEVEL;
 
-public class DefaultCo2ValueUpdateService extends AbstractValueUpdateService<Integer> implements Co2ValueUpdateService {
+public class DefaultCo2ValueUpdateService extends AbstractIntegerValueUpdateService implements Co2ValueUpdateService {
 
   private final EventFactory eventFactory;
 
@@ -39,7 +42,16 @@ public class DefaultCo2ValueUpdateService extends AbstractValueUpdateService<Int
                                       EventPublisher eventPublisher,
                                       EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, Integer.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultCo2ValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                      DevicePropertyCreator devicePropertyCreator,
+                                      EventPublisher eventPublisher,
+                                      EventFactory eventFactory,
+                                      ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -63,4 +75,14 @@ public class DefaultCo2ValueUpdateService extends AbstractValueUpdateService<Int
     return eventFactory.createCo2LevelChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return Co2LevelUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return Co2LevelChangedEvent.class;
+  }
+
 }
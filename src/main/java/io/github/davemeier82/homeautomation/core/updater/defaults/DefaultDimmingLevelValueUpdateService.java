@@ -22,15 +22,18 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyV
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.DimmingLevelChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.DimmingLevelUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
 import io.github.davemeier82.homeautomation.core.updater.DimmingLevelValueUpdateService;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyType.DIMMER;
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.DIMMING_LEVEL;
 
-public class DefaultDimmingLevelValueUpdateService extends AbstractValueUpdateService<Integer> implements DimmingLevelValueUpdateService {
+public class DefaultDimmingLevelValueUpdateService extends AbstractIntegerValueUpdateService implements DimmingLevelValueUpdateService {
 
   private final EventFactory eventFactory;
 
@@ -39,7 +42,16 @@ public class DefaultDimmingLevelValueUpdateService extends AbstractValueUpdateSe
                                                EventPublisher eventPublisher,
                                                EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, Integer.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultDimmingLevelValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                               DevicePropertyCreator devicePropertyCreator,
+                                               EventPublisher eventPublisher,
+                                               EventFactory eventFactory,
+                                               ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -63,4 +75,14 @@ public class DefaultDimmingLevelValueUpdateService extends AbstractValueUpdateSe
     return eventFactory.createDimmingLevelChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return DimmingLevelUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return DimmingLevelChangedEvent.class;
+  }
+
 }
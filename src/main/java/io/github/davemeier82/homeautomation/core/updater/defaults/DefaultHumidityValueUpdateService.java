@@ -22,15 +22,18 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyV
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.HumidityChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.HumidityUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
 import io.github.davemeier82.homeautomation.core.updater.HumidityValueUpdateService;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyType.HUMIDITY_SENSOR;
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.RELATIVE_HUMIDITY;
 
-public class DefaultHumidityValueUpdateService extends AbstractValueUpdateService<Float> implements HumidityValueUpdateService {
+public class DefaultHumidityValueUpdateService extends AbstractFloatValueUpdateService implements HumidityValueUpdateService {
 
   private final EventFactory eventFactory;
 
@@ -39,7 +42,16 @@ public class DefaultHumidityValueUpdateService extends AbstractValueUpdateServic
                                            EventPublisher eventPublisher,
                                            EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, Float.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultHumidityValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                           DevicePropertyCreator devicePropertyCreator,
+                                           EventPublisher eventPublisher,
+                                           EventFactory eventFactory,
+                                           ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -63,4 +75,14 @@ public class DefaultHumidityValueUpdateService extends AbstractValueUpdateServic
     return eventFactory.createHumidityChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return HumidityUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return HumidityChangedEvent.class;
+  }
+
 }
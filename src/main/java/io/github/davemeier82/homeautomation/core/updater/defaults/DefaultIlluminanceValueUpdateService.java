@@ -22,15 +22,18 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyV
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.IlluminanceChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.IlluminanceUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
 import io.github.davemeier82.homeautomation.core.updater.IlluminanceValueUpdateService;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyType.ILLUMINANCE_SENSOR;
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.ILLUMINANCE;
 
-public class DefaultIlluminanceValueUpdateService extends AbstractValueUpdateService<Integer> implements IlluminanceValueUpdateService {
+public class DefaultIlluminanceValueUpdateService extends AbstractIntegerValueUpdateService implements IlluminanceValueUpdateService {
 
   private final EventFactory eventFactory;
 
@@ -39,7 +42,16 @@ public class DefaultIlluminanceValueUpdateService extends AbstractValueUpdateSer
                                               EventPublisher eventPublisher,
                                               EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, Integer.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultIlluminanceValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                              DevicePropertyCreator devicePropertyCreator,
+                                              EventPublisher eventPublisher,
+                                              EventFactory eventFactory,
+                                              ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -63,4 +75,14 @@ public class DefaultIlluminanceValueUpdateService extends AbstractValueUpdateSer
     return eventFactory.createIlluminanceChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return IlluminanceUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return IlluminanceChangedEvent.class;
+  }
+
 }
@@ -22,15 +22,18 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyV
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.LightningCountChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.LightningCountUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
 import io.github.davemeier82.homeautomation.core.updater.LightningCountValueUpdateService;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyType.LIGHTNING_SENSOR;
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.LIGHTNING_COUNT;
 
-public class DefaultLightningCountValueUpdateService extends AbstractValueUpdateService<Integer> implements LightningCountValueUpdateService {
+public class DefaultLightningCountValueUpdateService extends AbstractIntegerValueUpdateService implements LightningCountValueUpdateService {
 
   private final EventFactory eventFactory;
 
@@ -39,7 +42,16 @@ public class DefaultLightningCountValueUpdateService extends AbstractValueUpdate
                                                  EventPublisher eventPublisher,
                                                  EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, Integer.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultLightningCountValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                                 DevicePropertyCreator devicePropertyCreator,
+                                                 EventPublisher eventPublisher,
+                                                 EventFactory eventFactory,
+                                                 ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -63,4 +75,14 @@ public class DefaultLightningCountValueUpdateService extends AbstractValueUpdate
     return eventFactory.createLightningCountChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return LightningCountUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return LightningCountChangedEvent.class;
+  }
+
 }
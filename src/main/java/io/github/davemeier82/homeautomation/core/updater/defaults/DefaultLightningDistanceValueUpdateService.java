@@ -22,15 +22,18 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyV
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.LightningDistanceChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.LightningDistanceUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
 import io.github.davemeier82.homeautomation.core.updater.LightningDistanceValueUpdateService;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyType.LIGHTNING_SENSOR;
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.LIGHTNING_DISTANCE;
 
-public class DefaultLightningDistanceValueUpdateService extends AbstractValueUpdateService<Integer> implements LightningDistanceValueUpdateService {
+public class DefaultLightningDistanceValueUpdateService extends AbstractIntegerValueUpdateService implements LightningDistanceValueUpdateService {
 
   private final EventFactory eventFactory;
 
@@ -39,7 +42,16 @@ public class DefaultLightningDistanceValueUpdateService extends AbstractValueUpd
                                                     EventPublisher eventPublisher,
                                                     EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, Integer.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultLightningDistanceValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                                    DevicePropertyCreator devicePropertyCreator,
+                                                    EventPublisher eventPublisher,
+                                                    EventFactory eventFactory,
+                                                    ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -63,4 +75,14 @@ public class DefaultLightningDistanceValueUpdateService extends AbstractValueUpd
     return eventFactory.createLightningDistanceChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return LightningDistanceUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return LightningDistanceChangedEvent.class;
+  }
+
 }
@@ -22,15 +22,18 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyV
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.RollerPositionChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.RollerPositionUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
 import io.github.davemeier82.homeautomation.core.updater.RollerPositionValueUpdateService;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyType.ROLLER;
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.ROLLER_POSITION;
 
-public class DefaultRollerPositionValueUpdateService extends AbstractValueUpdateService<Integer> implements RollerPositionValueUpdateService {
+public class DefaultRollerPositionValueUpdateService extends AbstractIntegerValueUpdateService implements RollerPositionValueUpdateService {
 
   private final EventFactory eventFactory;
 
@@ -39,7 +42,16 @@ public class DefaultRollerPositionValueUpdateService extends AbstractValueUpdate
                                                  EventPublisher eventPublisher,
                                                  EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, Integer.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultRollerPositionValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                                 DevicePropertyCreator devicePropertyCreator,
+                                                 EventPublisher eventPublisher,
+                                                 EventFactory eventFactory,
+                                                 ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -71,4 +83,14 @@ public class DefaultRollerPositionValueUpdateService extends AbstractValueUpdate
     return eventFactory.createRollerPositionChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return RollerPositionUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return RollerPositionChangedEvent.class;
+  }
+
 }
@@ -23,10 +23,13 @@ import io.github.davemeier82.homeautomation.core.device.property.RollerState;
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.RollerStateChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.RollerStateUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
 import io.github.davemeier82.homeautomation.core.updater.RollerStateValueUpdateService;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyType.ROLLER;
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.ROLLER_STATE;
@@ -40,7 +43,16 @@ public class DefaultRollerStateValueUpdateService extends AbstractValueUpdateSer
                                               EventPublisher eventPublisher,
                                               EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, RollerState.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultRollerStateValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                              DevicePropertyCreator devicePropertyCreator,
+                                              EventPublisher eventPublisher,
+                                              EventFactory eventFactory,
+                                              ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, RollerState.class, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -72,4 +84,14 @@ public class DefaultRollerStateValueUpdateService extends AbstractValueUpdateSer
     return eventFactory.createRollerStateChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return RollerStateUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return RollerStateChangedEvent.class;
+  }
+
 }
@@ -23,14 +23,17 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyV
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.SmokeStateChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.SmokeStateUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
 import io.github.davemeier82.homeautomation.core.updater.SmokeStateValueUpdateService;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.SMOKE_STATE;
 
-public class DefaultSmokeStateValueUpdateService extends AbstractValueUpdateService<Boolean> implements SmokeStateValueUpdateService {
+public class DefaultSmokeStateValueUpdateService extends AbstractBooleanValueUpdateService implements SmokeStateValueUpdateService {
 
   private final EventFactory eventFactory;
 
@@ -39,7 +42,16 @@ public class DefaultSmokeStateValueUpdateService extends AbstractValueUpdateServ
                                              EventPublisher eventPublisher,
                                              EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, Boolean.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultSmokeStateValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                             DevicePropertyCreator devicePropertyCreator,
+                                             EventPublisher eventPublisher,
+                                             EventFactory eventFactory,
+                                             ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -63,4 +75,14 @@ public class DefaultSmokeStateValueUpdateService extends AbstractValueUpdateServ
     return eventFactory.createSmokeStateChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return SmokeStateUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return SmokeStateChangedEvent.class;
+  }
+
 }
@@ -22,15 +22,18 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyV
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.UvIndexChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.UvIndexUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
 import io.github.davemeier82.homeautomation.core.updater.UvIndexValueUpdateService;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyType.UV_SENSOR;
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.UV_INDEX;
 
-public class DefaultUvIndexValueUpdateService extends AbstractValueUpdateService<Float> implements UvIndexValueUpdateService {
+public class DefaultUvIndexValueUpdateService extends AbstractFloatValueUpdateService implements UvIndexValueUpdateService {
 
   private final EventFactory eventFactory;
 
@@ -39,7 +42,16 @@ public class DefaultUvIndexValueUpdateService extends AbstractValueUpdateService
                                           EventPublisher eventPublisher,
                                           EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, Float.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultUvIndexValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                          DevicePropertyCreator devicePropertyCreator,
+                                          EventPublisher eventPublisher,
+                                          EventFactory eventFactory,
+                                          ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -63,4 +75,14 @@ public class DefaultUvIndexValueUpdateService extends AbstractValueUpdateService
     return eventFactory.createUvIndexChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return UvIndexUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return UvIndexChangedEvent.class;
+  }
+
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater.defaults;
+
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueType;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateService;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+/**
+ * Routes values to the {@link AbstractValueUpdateService} of their value type.
+ */
+public class DefaultValueUpdateService implements ValueUpdateService {
+
+  private final ValueUpdateServiceRegistry registry;
+
+  public DefaultValueUpdateService(Collection<? extends AbstractValueUpdateService<?>> valueUpdateServices) {
+    registry = new ValueUpdateServiceRegistry(valueUpdateServices);
+  }
+
+  /**
+   * Adds a service for a custom value type.
+   *
+   * @param valueUpdateService the service
+   */
+  public void register(AbstractValueUpdateService<?> valueUpdateService) {
+    registry.registerCustomService(valueUpdateService);
+  }
+
+  @Override
+  public void update(DevicePropertyValueType devicePropertyValueType, Object value, OffsetDateTime timestamp, DevicePropertyId devicePropertyId, String displayName) {
+    registry.get(devicePropertyValueType).castAndSetValue(value, timestamp, devicePropertyId, displayName);
+  }
+}
@@ -23,14 +23,17 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyV
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.WindDirectionChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindDirectionUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 import io.github.davemeier82.homeautomation.core.updater.WindDirectionValueUpdateService;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.WIND_DIRECTION;
 
-public class DefaultWindDirectionValueUpdateService extends AbstractValueUpdateService<Float> implements WindDirectionValueUpdateService {
+public class DefaultWindDirectionValueUpdateService extends AbstractFloatValueUpdateService implements WindDirectionValueUpdateService {
 
   private final EventFactory eventFactory;
 
@@ -39,7 +42,16 @@ public class DefaultWindDirectionValueUpdateService extends AbstractValueUpdateS
                                                 EventPublisher eventPublisher,
                                                 EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, Float.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultWindDirectionValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                                DevicePropertyCreator devicePropertyCreator,
+                                                EventPublisher eventPublisher,
+                                                EventFactory eventFactory,
+                                                ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -63,4 +75,14 @@ public class DefaultWindDirectionValueUpdateService extends AbstractValueUpdateS
     return eventFactory.createWindDirectionChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return WindDirectionUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return WindDirectionChangedEvent.class;
+  }
+
 }
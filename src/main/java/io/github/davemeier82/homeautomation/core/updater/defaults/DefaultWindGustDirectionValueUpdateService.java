@@ -23,14 +23,17 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyV
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.WindGustDirectionChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindGustDirectionUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 import io.github.davemeier82.homeautomation.core.updater.WindGustDirectionValueUpdateService;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.WIND_GUST_DIRECTION;
 
-public class DefaultWindGustDirectionValueUpdateService extends AbstractValueUpdateService<Float> implements WindGustDirectionValueUpdateService {
+public class DefaultWindGustDirectionValueUpdateService extends AbstractFloatValueUpdateService implements WindGustDirectionValueUpdateService {
 
   private final EventFactory eventFactory;
 
@@ -39,7 +42,16 @@ public class DefaultWindGustDirectionValueUpdateService extends AbstractValueUpd
                                                     EventPublisher eventPublisher,
                                                     EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, Float.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultWindGustDirectionValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                                    DevicePropertyCreator devicePropertyCreator,
+                                                    EventPublisher eventPublisher,
+                                                    EventFactory eventFactory,
+                                                    ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -63,4 +75,14 @@ public class DefaultWindGustDirectionValueUpdateService extends AbstractValueUpd
     return eventFactory.createWindGustDirectionChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return WindGustDirectionUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return WindGustDirectionChangedEvent.class;
+  }
+
 }
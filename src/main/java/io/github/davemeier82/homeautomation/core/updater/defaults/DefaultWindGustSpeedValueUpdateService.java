@@ -23,14 +23,17 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyV
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.WindGustSpeedChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindGustSpeedUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 import io.github.davemeier82.homeautomation.core.updater.WindGustSpeedValueUpdateService;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.WIND_GUST_SPEED;
 
-public class DefaultWindGustSpeedValueUpdateService extends AbstractValueUpdateService<Float> implements WindGustSpeedValueUpdateService {
+public class DefaultWindGustSpeedValueUpdateService extends AbstractFloatValueUpdateService implements WindGustSpeedValueUpdateService {
 
   private final EventFactory eventFactory;
 
@@ -39,7 +42,16 @@ public class DefaultWindGustSpeedValueUpdateService extends AbstractValueUpdateS
                                                 EventPublisher eventPublisher,
                                                 EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, Float.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultWindGustSpeedValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                                DevicePropertyCreator devicePropertyCreator,
+                                                EventPublisher eventPublisher,
+                                                EventFactory eventFactory,
+                                                ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -63,4 +75,14 @@ public class DefaultWindGustSpeedValueUpdateService extends AbstractValueUpdateS
     return eventFactory.createWindGustSpeedChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return WindGustSpeedUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return WindGustSpeedChangedEvent.class;
+  }
+
 }
@@ -23,14 +23,17 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyV
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.WindRunChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindRunUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 import io.github.davemeier82.homeautomation.core.updater.WindRunValueUpdateService;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.WIND_RUN;
 
-public class DefaultWindRunValueUpdateService extends AbstractValueUpdateService<Double> implements WindRunValueUpdateService {
+public class DefaultWindRunValueUpdateService extends AbstractDoubleValueUpdateService implements WindRunValueUpdateService {
 
   private final EventFactory eventFactory;
 
@@ -39,7 +42,16 @@ public class DefaultWindRunValueUpdateService extends AbstractValueUpdateService
                                           EventPublisher eventPublisher,
                                           EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, Double.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultWindRunValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                          DevicePropertyCreator devicePropertyCreator,
+                                          EventPublisher eventPublisher,
+                                          EventFactory eventFactory,
+                                          ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -63,4 +75,14 @@ public class DefaultWindRunValueUpdateService extends AbstractValueUpdateService
     return eventFactory.createWindRunChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return WindRunUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return WindRunChangedEvent.class;
+  }
+
 }
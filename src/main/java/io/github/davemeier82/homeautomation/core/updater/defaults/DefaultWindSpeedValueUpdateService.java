@@ -23,14 +23,17 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyV
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.WindSpeedChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindSpeedUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 import io.github.davemeier82.homeautomation.core.updater.WindSpeedValueUpdateService;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.WIND_SPEED;
 
-public class DefaultWindSpeedValueUpdateService extends AbstractValueUpdateService<Float> implements WindSpeedValueUpdateService {
+public class DefaultWindSpeedValueUpdateService extends AbstractFloatValueUpdateService implements WindSpeedValueUpdateService {
 
   private final EventFactory eventFactory;
 
@@ -39,7 +42,16 @@ public class DefaultWindSpeedValueUpdateService extends AbstractValueUpdateServi
                                             EventPublisher eventPublisher,
                                             EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, Float.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultWindSpeedValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                            DevicePropertyCreator devicePropertyCreator,
+                                            EventPublisher eventPublisher,
+                                            EventFactory eventFactory,
+                                            ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -63,4 +75,14 @@ public class DefaultWindSpeedValueUpdateService extends AbstractValueUpdateServi
     return eventFactory.createWindSpeedChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return WindSpeedUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return WindSpeedChangedEvent.class;
+  }
+
 }
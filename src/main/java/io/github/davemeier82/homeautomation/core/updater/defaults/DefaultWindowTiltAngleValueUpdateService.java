@@ -22,15 +22,18 @@ import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyV
 import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
 import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
 import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.WindowTiltAngleChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.WindowTiltAngleUpdatedEvent;
 import io.github.davemeier82.homeautomation.core.event.factory.EventFactory;
 import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
 import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
 import io.github.davemeier82.homeautomation.core.updater.WindowTiltAngleValueUpdateService;
 
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyType.UV_SENSOR;
 import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.UV_INDEX;
 
-public class DefaultWindowTiltAngleValueUpdateService extends AbstractValueUpdateService<Integer> implements WindowTiltAngleValueUpdateService {
+public class DefaultWindowTiltAngleValueUpdateService extends AbstractIntegerValueUpdateService implements WindowTiltAngleValueUpdateService {
 
   private final EventFactory eventFactory;
 
@@ -39,7 +42,16 @@ public class DefaultWindowTiltAngleValueUpdateService extends AbstractValueUpdat
                                                   EventPublisher eventPublisher,
                                                   EventFactory eventFactory
   ) {
-    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, Integer.class);
+    this(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, eventFactory, ValueUpdateOptions.defaults());
+  }
+
+  public DefaultWindowTiltAngleValueUpdateService(DevicePropertyValueRepository devicePropertyValueRepository,
+                                                  DevicePropertyCreator devicePropertyCreator,
+                                                  EventPublisher eventPublisher,
+                                                  EventFactory eventFactory,
+                                                  ValueUpdateOptions valueUpdateOptions
+  ) {
+    super(devicePropertyValueRepository, devicePropertyCreator, eventPublisher, valueUpdateOptions);
     this.eventFactory = eventFactory;
   }
 
@@ -63,4 +75,14 @@ public class DefaultWindowTiltAngleValueUpdateService extends AbstractValueUpdat
     return eventFactory.createWindowTiltAngleChangedEvent(devicePropertyId, newValue, previousValue, displayName);
   }
 
+  @Override
+  protected Class<?> getUpdatedEventType() {
+    return WindowTiltAngleUpdatedEvent.class;
+  }
+
+  @Override
+  protected Class<?> getChangedEventType() {
+    return WindowTiltAngleChangedEvent.class;
+  }
+
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater.defaults;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.System.Logger.Level.ERROR;
+
+/**
+ * Hands events created under a lock over to publishing outside of it, in the order they were enqueued per key.
+ * <p>
+ * A caller that is not itself publishing waits until its events are delivered and gets the exceptions of the listeners, like a synchronous publish.
+ * While it waits, it delivers the events that were enqueued before its own if no other thread does, but never the events of later callers.
+ * <p>
+ * A caller that is publishing, e.g. a listener that updates another value, never waits, as two such threads could wait for each other.
+ * Its events are delivered by the thread that currently publishes the events of the key, possibly after the call returned, and failures of
+ * its listeners are only logged unless it delivered the events itself.
+ */
+final class OrderedEventHandoff {
+
+  private static final System.Logger log = System.getLogger(OrderedEventHandoff.class.getName());
+  private static final long WAIT_NANOS = 1_000_000;
+  // shared by all handoffs, a listener of one value update service can update values of another
+  private static final ThreadLocal<int[]> publishingDepth = ThreadLocal.withInitial(() -> new int[1]);
+
+  private final Stripe[] stripes;
+  private final int mask;
+
+  OrderedEventHandoff(int minimumStripes) {
+    int size = Integer.highestOneBit(Math.max(1, minimumStripes - 1)) << 1;
+    stripes = new Stripe[size];
+    for (int i = 0; i < size; i++) {
+      stripes[i] = new Stripe();
+    }
+    mask = size - 1;
+  }
+
+  /**
+   * Has to be called while the lock of the key is held.
+   *
+   * @param key          the key that defines the order
+   * @param publications publish the events
+   * @return the batch to pass to {@link #publish(Object, Batch)} after the lock was released
+   */
+  Batch enqueue(Object key, List<Runnable> publications) {
+    Batch batch = new Batch(publications, publishingDepth.get()[0] == 0 ? Thread.currentThread() : null);
+    stripeOf(key).batches.add(batch);
+    return batch;
+  }
+
+  /**
+   * Publishes the events of the batch, has to be called after the lock of the key was released.
+   *
+   * @param key   the key
+   * @param batch the batch returned by {@link #enqueue(Object, List)}
+   * @throws RuntimeException the first exception thrown by a listener, if this thread delivered the events or waited for them
+   */
+  void publish(Object key, Batch batch) {
+    Stripe stripe = stripeOf(key);
+    if (batch.owner == null) {
+      if (stripe.publishing.compareAndSet(false, true)) {
+        // only the holder of the flag delivers, a batch that is already done was delivered and reported by another thread
+        boolean deliveredByOtherThread = batch.done;
+        stripe.deliver(batch);
+        if (!deliveredByOtherThread) {
+          batch.rethrowFailure();
+        }
+      }
+      return;
+    }
+    while (!batch.done) {
+      if (stripe.publishing.compareAndSet(false, true)) {
+        stripe.deliver(batch);
+      } else {
+        LockSupport.parkNanos(this, WAIT_NANOS);
+      }
+    }
+    batch.rethrowFailure();
+  }
+
+  private Stripe stripeOf(Object key) {
+    int hash = key.hashCode();
+    return stripes[(hash ^ (hash >>> 16)) & mask];
+  }
+
+  /**
+   * The events of one update.
+   */
+  static final class Batch {
+
+    private final List<Runnable> publications;
+    // the thread that waits for the events, null if the events were enqueued by a listener
+    private final Thread owner;
+    private RuntimeException failure;
+    private volatile boolean done;
+
+    private Batch(List<Runnable> publications, Thread owner) {
+      this.publications = publications;
+      this.owner = owner;
+    }
+
+    void deliver() {
+      for (Runnable publication : publications) {
+        try {
+          publication.run();
+        } catch (RuntimeException e) {
+          if (failure == null) {
+            failure = e;
+          } else {
+            failure.addSuppressed(e);
+          }
+        }
+      }
+      done = true;
+    }
+
+    void rethrowFailure() {
+      if (failure != null) {
+        throw failure;
+      }
+    }
+  }
+
+  private static final class Stripe {
+
+    private final Queue<Batch> batches = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean publishing = new AtomicBoolean();
+
+    /**
+     * Delivers the batches up to and including the own batch and afterwards only the batches enqueued by listeners, as nobody waits for them.
+     * Has to be called with the publishing flag set.
+     */
+    void deliver(Batch ownBatch) {
+      do {
+        int[] depth = publishingDepth.get();
+        depth[0]++;
+        try {
+          Batch batch;
+          while ((batch = batches.peek()) != null && (!ownBatch.done || batch.owner == null)) {
+            batches.poll();
+            batch.deliver();
+            if (batch != ownBatch) {
+              handOver(batch);
+            }
+          }
+        } finally {
+          depth[0]--;
+          publishing.set(false);
+        }
+        Batch next = batches.peek();
+        if (next == null) {
+          return;
+        }
+        if (next.owner != null) {
+          // the waiting thread delivers its own events
+          LockSupport.unpark(next.owner);
+          return;
+        }
+        // a batch of a listener that was enqueued after the last check has to be delivered too
+      } while (publishing.compareAndSet(false, true));
+    }
+
+    private static void handOver(Batch batch) {
+      if (batch.owner != null) {
+        LockSupport.unpark(batch.owner);
+      } else if (batch.failure != null) {
+        log.log(ERROR, "failed to publish event", batch.failure);
+      }
+    }
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater.defaults;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks where each key is mapped to one lock. Keys that map to different stripes never block each other.
+ */
+final class StripedLock {
+
+  private final Lock[] locks;
+  private final int mask;
+
+  StripedLock(int minimumStripes) {
+    int stripes = Integer.highestOneBit(Math.max(1, minimumStripes - 1)) << 1;
+    locks = new Lock[stripes];
+    for (int i = 0; i < stripes; i++) {
+      locks[i] = new ReentrantLock();
+    }
+    mask = stripes - 1;
+  }
+
+  Lock get(Object key) {
+    int hash = key.hashCode();
+    return locks[(hash ^ (hash >>> 16)) & mask];
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater.defaults;
+
+import io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueType;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Looks up the {@link AbstractValueUpdateService} of a value type. The default value types are resolved with an array index, custom value types with a hash map.
+ */
+final class ValueUpdateServiceRegistry {
+
+  private final Map<DefaultDevicePropertyValueType, AbstractValueUpdateService<?>> defaultServices = new EnumMap<>(DefaultDevicePropertyValueType.class);
+  private final Map<DevicePropertyValueType, AbstractValueUpdateService<?>> customServices = new ConcurrentHashMap<>();
+
+  ValueUpdateServiceRegistry(Collection<? extends AbstractValueUpdateService<?>> services) {
+    for (AbstractValueUpdateService<?> service : services) {
+      if (service.getDevicePropertyValueType() instanceof DefaultDevicePropertyValueType valueType) {
+        defaultServices.put(valueType, service);
+      } else {
+        customServices.put(service.getDevicePropertyValueType(), service);
+      }
+    }
+  }
+
+  void registerCustomService(AbstractValueUpdateService<?> service) {
+    if (service.getDevicePropertyValueType() instanceof DefaultDevicePropertyValueType) {
+      throw new IllegalArgumentException("services of default value types have to be passed to the constructor");
+    }
+    customServices.put(service.getDevicePropertyValueType(), service);
+  }
+
+  AbstractValueUpdateService<?> get(DevicePropertyValueType devicePropertyValueType) {
+    AbstractValueUpdateService<?> service = devicePropertyValueType instanceof DefaultDevicePropertyValueType valueType
+        ? defaultServices.get(valueType)
+        : customServices.get(devicePropertyValueType);
+    if (service == null) {
+      throw new IllegalArgumentException("no value update service for value type " + devicePropertyValueType.getTypeName());
+    }
+    return service;
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.clock;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoarseClockTest {
+
+  @Test
+  void advancesWithTheResolution() throws InterruptedException {
+    try (CoarseClock clock = new CoarseClock(Duration.ofMillis(5))) {
+      long start = clock.millis();
+      assertThat(Math.abs(start - System.currentTimeMillis())).isLessThan(1_000L);
+
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (clock.millis() == start && System.nanoTime() < deadline) {
+        TimeUnit.MILLISECONDS.sleep(1);
+      }
+      assertThat(clock.millis()).isGreaterThan(start);
+      assertThat(clock.getResolution()).isEqualTo(Duration.ofMillis(5));
+    }
+  }
+
+  @Test
+  void doesNotAdvanceAfterClose() throws InterruptedException {
+    CoarseClock clock = new CoarseClock(Duration.ofMillis(1));
+    clock.close();
+    // the ticker may still be in its last iteration
+    TimeUnit.MILLISECONDS.sleep(20);
+    long closedTime = clock.millis();
+
+    TimeUnit.MILLISECONDS.sleep(20);
+
+    assertThat(clock.millis()).isEqualTo(closedTime);
+  }
+
+  @Test
+  void zeroResolutionIsRejected() {
+    IllegalArgumentException failure = null;
+    try {
+      new CoarseClock(Duration.ZERO);
+    } catch (IllegalArgumentException e) {
+      failure = e;
+    }
+
+    assertThat(failure).isNotNull();
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.clock;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualClockTest {
+
+  private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+  @Test
+  void onlyAdvancesWhenToldTo() {
+    VirtualClock clock = new VirtualClock(START);
+
+    assertThat(clock.instant()).isEqualTo(START);
+    assertThat(clock.advance(Duration.ofMinutes(1))).isEqualTo(START.plusSeconds(60).toEpochMilli());
+    assertThat(clock.instant()).isEqualTo(START.plusSeconds(60));
+
+    clock.setInstant(START.minusSeconds(1));
+    assertThat(clock.millis()).isEqualTo(START.minusSeconds(1).toEpochMilli());
+  }
+
+  @Test
+  void clockWithOtherZoneSharesTheTime() {
+    VirtualClock clock = new VirtualClock(START);
+    Clock zurich = clock.withZone(ZoneId.of("Europe/Zurich"));
+
+    clock.advance(Duration.ofSeconds(5));
+
+    assertThat(zurich.getZone()).isEqualTo(ZoneId.of("Europe/Zurich"));
+    assertThat(zurich.instant()).isEqualTo(START.plusSeconds(5));
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static io.github.davemeier82.homeautomation.core.event.AsyncEventPublisher.WaitStrategy.PARK;
+import static io.github.davemeier82.homeautomation.core.event.AsyncEventPublisher.WaitStrategy.YIELD;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncEventPublisherTest {
+
+  private static final int PRODUCERS = 4;
+  private static final int EVENTS_PER_PRODUCER = 20_000;
+
+  @Test
+  void eventsOfEachProducerAreDeliveredInOrder() throws InterruptedException {
+    List<Sequenced> delivered = new ArrayList<>();
+    AsyncEventPublisher publisher = new AsyncEventPublisher(event -> delivered.add((Sequenced) event), 64, 16, YIELD);
+
+    List<Thread> producers = new ArrayList<>();
+    for (int p = 0; p < PRODUCERS; p++) {
+      int producer = p;
+      producers.add(new Thread(() -> {
+        for (int i = 0; i < EVENTS_PER_PRODUCER; i++) {
+          publisher.publishEvent(new Sequenced(producer, i));
+        }
+      }));
+    }
+    producers.forEach(Thread::start);
+    for (Thread producer : producers) {
+      producer.join();
+    }
+    publisher.close();
+
+    assertThat(delivered).hasSize(PRODUCERS * EVENTS_PER_PRODUCER);
+    int[] nextSequences = new int[PRODUCERS];
+    for (Sequenced event : delivered) {
+      assertThat(event.sequence()).isEqualTo(nextSequences[event.producer()]);
+      nextSequences[event.producer()]++;
+    }
+    assertThat(publisher.getProcessedEventCount()).isEqualTo((long) PRODUCERS * EVENTS_PER_PRODUCER);
+    assertThat(publisher.getPendingEventCount()).isEqualTo(0L);
+  }
+
+  @Test
+  void listenerCanPublishIntoFullBuffer() throws InterruptedException {
+    CountDownLatch bufferFull = new CountDownLatch(1);
+    List<Object> delivered = new ArrayList<>();
+    AtomicInteger nestedEvents = new AtomicInteger();
+    AsyncEventPublisher[] publisher = new AsyncEventPublisher[1];
+    publisher[0] = new AsyncEventPublisher(event -> {
+      delivered.add(event);
+      if (event instanceof Integer number) {
+        if (number == 0) {
+          await(bufferFull);
+        }
+        // the buffer is full while the first event is delivered, waiting for space would block the only consumer forever
+        publisher[0].publishEvent("nested-" + number);
+        nestedEvents.incrementAndGet();
+      }
+    }, 4, 4, PARK);
+
+    publisher[0].publishEvent(0);
+    while (publisher[0].getPendingEventCount() > 0) {
+      Thread.onSpinWait();
+    }
+    for (int i = 1; i <= publisher[0].getCapacity(); i++) {
+      publisher[0].publishEvent(i);
+    }
+    assertThat(publisher[0].getPendingEventCount()).isEqualTo((long) publisher[0].getCapacity());
+    bufferFull.countDown();
+    long expectedEvents = 2L * (publisher[0].getCapacity() + 1);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (publisher[0].getProcessedEventCount() < expectedEvents && System.nanoTime() < deadline) {
+      Thread.onSpinWait();
+    }
+    publisher[0].close();
+
+    assertThat(nestedEvents.get()).isEqualTo(publisher[0].getCapacity() + 1);
+    assertThat(delivered.subList(0, 3)).containsExactly(0, "nested-0", 1);
+    assertThat(delivered).hasSize((int) expectedEvents);
+  }
+
+  @Test
+  void closeDeliversEventsOfInFlightClaims() throws InterruptedException {
+    AtomicInteger delivered = new AtomicInteger();
+    AsyncEventPublisher publisher = new AsyncEventPublisher(event -> {
+      LockSupport.parkNanos(10_000);
+      delivered.incrementAndGet();
+    }, 16, 4, PARK);
+    AtomicBoolean running = new AtomicBoolean(true);
+    AtomicInteger attempts = new AtomicInteger();
+
+    List<Thread> producers = new ArrayList<>();
+    for (int p = 0; p < PRODUCERS; p++) {
+      producers.add(new Thread(() -> {
+        while (running.get()) {
+          attempts.incrementAndGet();
+          publisher.publishEvent(new Object());
+        }
+      }));
+    }
+    producers.forEach(Thread::start);
+    TimeUnit.MILLISECONDS.sleep(50);
+    publisher.close();
+    running.set(false);
+    for (Thread producer : producers) {
+      producer.join();
+    }
+
+    assertThat(publisher.getRejectedEventCount()).isGreaterThan(0L);
+    assertThat(publisher.getPublishedEventCount() + publisher.getRejectedEventCount()).isEqualTo((long) attempts.get());
+    assertThat((long) delivered.get()).isEqualTo(publisher.getPublishedEventCount());
+    assertThat(publisher.getPendingEventCount()).isEqualTo(0L);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private record Sequenced(int producer, int sequence) {
+  }
+}
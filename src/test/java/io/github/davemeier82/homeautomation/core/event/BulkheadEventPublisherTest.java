@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import io.github.davemeier82.homeautomation.core.event.ListenerBulkhead.OverflowPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadEventPublisherTest {
+
+  @Test
+  void slowListenerDoesNotDelayTheOthers() throws InterruptedException {
+    CountDownLatch releaseSlowListener = new CountDownLatch(1);
+    CountDownLatch fastListenerDone = new CountDownLatch(3);
+    Queue<Object> slowEvents = new ConcurrentLinkedQueue<>();
+    Queue<Object> fastEvents = new ConcurrentLinkedQueue<>();
+    BulkheadEventPublisher publisher = new BulkheadEventPublisher(TimeUnit.SECONDS.toMillis(5));
+    try {
+      publisher.subscribe("slow", Integer.class, event -> {
+        await(releaseSlowListener);
+        slowEvents.add(event);
+      }, 8, OverflowPolicy.BLOCK);
+      publisher.subscribe("fast", Integer.class, event -> {
+        fastEvents.add(event);
+        fastListenerDone.countDown();
+      }, 8, OverflowPolicy.BLOCK);
+
+      for (int i = 0; i < 3; i++) {
+        publisher.publishEvent(i);
+      }
+
+      // the slow listener is still blocked in the first event
+      assertThat(fastListenerDone.await(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(slowEvents).isEmpty();
+    } finally {
+      releaseSlowListener.countDown();
+      publisher.close();
+    }
+
+    assertThat(List.copyOf(fastEvents)).containsExactly(0, 1, 2);
+    assertThat(List.copyOf(slowEvents)).containsExactly(0, 1, 2);
+  }
+
+  @Test
+  void eventsAreOnlyOfferedToMatchingListeners() {
+    Queue<Object> numbers = new ConcurrentLinkedQueue<>();
+    BulkheadEventPublisher publisher = new BulkheadEventPublisher(TimeUnit.SECONDS.toMillis(5));
+    ListenerBulkhead<Number> bulkhead;
+    try {
+      bulkhead = publisher.subscribe("numbers", Number.class, numbers::add, 8, OverflowPolicy.BLOCK);
+
+      publisher.publishEvent(1);
+      publisher.publishEvent("text");
+
+      assertThat(publisher.hasSubscribers(Integer.class)).isTrue();
+      assertThat(publisher.hasSubscribers(Object.class)).isTrue();
+      assertThat(publisher.hasSubscribers(String.class)).isFalse();
+    } finally {
+      publisher.close();
+    }
+
+    assertThat(List.copyOf(numbers)).containsExactly(1);
+    assertThat(bulkhead.getOfferedEventCount()).isEqualTo(1L);
+  }
+
+  @Test
+  void unsubscribedListenerReceivesNoMoreEvents() {
+    Queue<Object> events = new ConcurrentLinkedQueue<>();
+    BulkheadEventPublisher publisher = new BulkheadEventPublisher(TimeUnit.SECONDS.toMillis(5));
+    try {
+      ListenerBulkhead<Integer> bulkhead = publisher.subscribe("numbers", Integer.class, events::add, 8, OverflowPolicy.BLOCK, Runnable::run);
+      publisher.publishEvent(1);
+      publisher.unsubscribe(bulkhead);
+      publisher.publishEvent(2);
+
+      assertThat(publisher.getBulkheads()).isEmpty();
+      assertThat(publisher.hasSubscribers(Integer.class)).isFalse();
+    } finally {
+      publisher.close();
+    }
+
+    assertThat(List.copyOf(events)).containsExactly(1);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
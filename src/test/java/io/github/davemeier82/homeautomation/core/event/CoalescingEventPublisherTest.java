@@ -0,0 +1,154 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import io.github.davemeier82.homeautomation.core.device.DeviceId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.event.factory.DefaultEventFactory;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoalescingEventPublisherTest {
+
+  private static final OffsetDateTime TIMESTAMP = OffsetDateTime.parse("2024-01-01T00:00:00Z");
+
+  private final DefaultEventFactory eventFactory = new DefaultEventFactory();
+  private final DeviceId deviceId = new DeviceId("1", () -> "test");
+  private final DevicePropertyId first = new DevicePropertyId(deviceId, "first");
+  private final DevicePropertyId second = new DevicePropertyId(deviceId, "second");
+  private final Queue<Object> delivered = new ConcurrentLinkedQueue<>();
+
+  @Test
+  void onlyTheNewestUpdatedEventOfAWindowIsPublished() {
+    CoalescingEventPublisher publisher = new CoalescingEventPublisher(delivered::add, Duration.ofHours(1));
+    try {
+      publisher.publishEvent(updatedEvent(first, 1));
+      publisher.publishEvent(updatedEvent(first, 2));
+      publisher.publishEvent(updatedEvent(second, 10));
+      publisher.publishEvent(updatedEvent(first, 3));
+      assertThat(delivered).isEmpty();
+
+      publisher.flush();
+
+      assertThat(values()).containsExactlyInAnyOrder(3f, 10f);
+      assertThat(publisher.getReceivedUpdatedEventCount()).isEqualTo(4L);
+      assertThat(publisher.getPublishedUpdatedEventCount()).isEqualTo(2L);
+      assertThat(publisher.getReductionRatio()).isEqualTo(0.5);
+    } finally {
+      publisher.close();
+    }
+  }
+
+  @Test
+  void pendingEventsArePublishedAtTheEndOfTheWindow() throws InterruptedException {
+    CountDownLatch published = new CountDownLatch(1);
+    CoalescingEventPublisher publisher = new CoalescingEventPublisher(event -> {
+      delivered.add(event);
+      published.countDown();
+    }, Duration.ofMillis(10));
+    try {
+      publisher.publishEvent(updatedEvent(first, 1));
+      publisher.publishEvent(updatedEvent(first, 2));
+
+      assertThat(published.await(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(values()).containsExactly(2f);
+    } finally {
+      publisher.close();
+    }
+  }
+
+  @Test
+  void changedEventsArePublishedImmediately() {
+    CoalescingEventPublisher publisher = new CoalescingEventPublisher(delivered::add, Duration.ofHours(1));
+    try {
+      publisher.publishEvent(eventFactory.createTemperatureChangedEvent(first, new DataWithTimestamp<>(TIMESTAMP, 1f), null, "first"));
+
+      assertThat(delivered).hasSize(1);
+      assertThat(publisher.getPassedThroughEventCount()).isEqualTo(1L);
+    } finally {
+      publisher.close();
+    }
+  }
+
+  @Test
+  void closePublishesThePendingEventsAndPassesLaterEventsThrough() {
+    CoalescingEventPublisher publisher = new CoalescingEventPublisher(delivered::add, Duration.ofHours(1));
+    publisher.publishEvent(updatedEvent(first, 1));
+    publisher.close();
+    assertThat(values()).containsExactly(1f);
+
+    publisher.publishEvent(updatedEvent(first, 2));
+
+    assertThat(values()).containsExactly(1f, 2f);
+    assertThat(publisher.getPassedThroughEventCount()).isEqualTo(1L);
+  }
+
+  @Test
+  void noEventIsLostWhileClosing() throws InterruptedException {
+    CoalescingEventPublisher publisher = new CoalescingEventPublisher(delivered::add, Duration.ofHours(1));
+    List<DevicePropertyId> devicePropertyIds = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      devicePropertyIds.add(new DevicePropertyId(deviceId, "property" + i));
+    }
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> publishers = new ArrayList<>();
+    for (DevicePropertyId devicePropertyId : devicePropertyIds) {
+      Thread thread = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        for (int i = 0; i < 10_000; i++) {
+          publisher.publishEvent(updatedEvent(devicePropertyId, i));
+        }
+      });
+      thread.start();
+      publishers.add(thread);
+    }
+    start.countDown();
+    publisher.close();
+    for (Thread thread : publishers) {
+      thread.join();
+    }
+
+    // the last event of every property is published, either by the flush of close or because it was published after close
+    for (DevicePropertyId devicePropertyId : devicePropertyIds) {
+      assertThat(delivered.stream().anyMatch(event -> ((DevicePropertyEvent<?>) event).getDevicePropertyId().equals(devicePropertyId)
+          && ((DevicePropertyEvent<?>) event).getNewValue().equals(9_999f))).isTrue();
+    }
+    assertThat(publisher.getReceivedUpdatedEventCount() + publisher.getPassedThroughEventCount()).isEqualTo(40_000L);
+  }
+
+  private TemperatureUpdatedEvent updatedEvent(DevicePropertyId devicePropertyId, float value) {
+    return eventFactory.createTemperatureUpdatedEvent(devicePropertyId, new DataWithTimestamp<>(TIMESTAMP, value), null, "temperature");
+  }
+
+  private List<Object> values() {
+    return delivered.stream().map(event -> (Object) ((DevicePropertyEvent<?>) event).getNewValue()).toList();
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import io.github.davemeier82.homeautomation.core.clock.VirtualClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataWithTimestampTest {
+
+  @Test
+  void negativeEpochsRoundTrip() {
+    OffsetDateTime beforeEpoch = OffsetDateTime.parse("1969-12-31T23:59:59.250000001Z");
+    DataWithTimestamp<Float> data = new DataWithTimestamp<>(beforeEpoch, 1f);
+
+    assertThat(data.getEpochMillis()).isEqualTo(-750L);
+    DataWithTimestamp<Float> fromMillis = new DataWithTimestamp<>(-750L, 1f);
+    assertThat(fromMillis.getDateTime().toInstant()).isEqualTo(Instant.parse("1969-12-31T23:59:59.250Z"));
+    assertThat(new DataWithTimestamp<>(fromMillis.getDateTime(), 1f).getEpochMillis()).isEqualTo(-750L);
+  }
+
+  @Test
+  void originalOffsetIsPreserved() {
+    OffsetDateTime dateTime = OffsetDateTime.parse("2024-06-01T12:00:00.123456789+02:00");
+    DataWithTimestamp<Float> data = new DataWithTimestamp<>(dateTime, 1f);
+
+    assertThat(data.getDateTime()).isSameAs(dateTime);
+    assertThat(data.getEpochMillis()).isEqualTo(dateTime.toInstant().toEpochMilli());
+  }
+
+  @Test
+  void isBeforeComparesTheNanosWithinTheSameMillisecond() {
+    DataWithTimestamp<Float> earlier = new DataWithTimestamp<>(OffsetDateTime.parse("2024-01-01T00:00:00.000000100Z"), 1f);
+    DataWithTimestamp<Float> later = new DataWithTimestamp<>(OffsetDateTime.parse("2024-01-01T00:00:00.000000200Z"), 1f);
+
+    assertThat(earlier.getEpochMillis()).isEqualTo(later.getEpochMillis());
+    assertThat(earlier.isBefore(later)).isTrue();
+    assertThat(later.isBefore(earlier)).isFalse();
+    assertThat(earlier.isBefore(earlier)).isFalse();
+    assertThat(earlier.hasSameTimestamp(later)).isFalse();
+    assertThat(earlier.isBefore(new DataWithTimestamp<>((OffsetDateTime) null, 1f))).isFalse();
+  }
+
+  @Test
+  void nestedOverridesCanBeClosedInAnyOrder() {
+    VirtualClock outerClock = new VirtualClock(Instant.parse("2024-01-01T00:00:00Z"));
+    VirtualClock innerClock = new VirtualClock(Instant.parse("2025-01-01T00:00:00Z"));
+    try {
+      DataWithTimestamp.ClockOverride outer = DataWithTimestamp.overrideClock(outerClock);
+      DataWithTimestamp.ClockOverride inner = DataWithTimestamp.overrideClock(innerClock);
+
+      outer.close();
+      // the inner override is still open
+      assertThat(DataWithTimestamp.getClock()).isSameAs(innerClock);
+      assertThat(new DataWithTimestamp<>(1f).getEpochMillis()).isEqualTo(innerClock.millis());
+
+      inner.close();
+      assertThat(DataWithTimestamp.getClock()).isEqualTo(Clock.systemUTC());
+
+      DataWithTimestamp.ClockOverride again = DataWithTimestamp.overrideClock(outerClock);
+      // closing an override twice does not remove the newer override
+      inner.close();
+      assertThat(DataWithTimestamp.getClock()).isSameAs(outerClock);
+      again.close();
+    } finally {
+      DataWithTimestamp.resetClock();
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import io.github.davemeier82.homeautomation.core.device.DeviceId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.event.defaults.DefaultHumidityUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.defaults.DefaultMqttClientConnectedEvent;
+import io.github.davemeier82.homeautomation.core.event.defaults.DefaultTemperatureUpdatedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.TEMPERATURE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexedEventPublisherTest {
+
+  private final DeviceId deviceId = new DeviceId("1", () -> "test");
+  private final DevicePropertyId temperatureId = new DevicePropertyId(deviceId, "temperature");
+  private final IndexedEventPublisher publisher = new IndexedEventPublisher();
+
+  @Test
+  void thresholdsMatchOnlyValuesInRange() {
+    List<Object> hot = subscribe(EventFilter.forEventType(TemperatureUpdatedEvent.class).withValueType(TEMPERATURE).withValueAbove(25));
+    List<Object> frost = subscribe(EventFilter.forEventType(TemperatureUpdatedEvent.class).withValueType(TEMPERATURE).withValueBelow(0));
+    List<Object> comfortable = subscribe(EventFilter.forEventType(TemperatureUpdatedEvent.class).withDevicePropertyId(temperatureId).withValueAbove(18).withValueBelow(24));
+    List<Object> warm = subscribe(EventFilter.forEventType(TemperatureUpdatedEvent.class).withDeviceId(deviceId).withValueAbove(20));
+
+    for (float value : new float[]{-5, 19, 22, 30}) {
+      publisher.publishEvent(temperature(value));
+    }
+
+    assertThat(values(hot)).containsExactly(30f);
+    assertThat(values(frost)).containsExactly(-5f);
+    assertThat(values(comfortable)).containsExactly(19f, 22f);
+    assertThat(values(warm)).containsExactly(22f, 30f);
+  }
+
+  @Test
+  void eventTypeAndIdsHaveToMatch() {
+    List<Object> allEvents = subscribe(EventFilter.forEventType(Object.class));
+    List<Object> humidity = subscribe(EventFilter.forEventType(HumidityUpdatedEvent.class));
+    List<Object> otherDevice = subscribe(EventFilter.forEventType(TemperatureUpdatedEvent.class).withDeviceId(new DeviceId("2", deviceId.type())));
+    List<Object> deviceType = subscribe(EventFilter.forEventType(DevicePropertyEvent.class).withDeviceTypeName("test"));
+
+    publisher.publishEvent(temperature(20));
+    publisher.publishEvent(new DefaultHumidityUpdatedEvent(new DevicePropertyId(deviceId, "humidity"), "humidity", new DataWithTimestamp<>(50f), null));
+    publisher.publishEvent(new DefaultMqttClientConnectedEvent(null));
+
+    assertThat(allEvents).hasSize(3);
+    assertThat(humidity).hasSize(1);
+    assertThat(otherDevice).isEmpty();
+    assertThat(deviceType).hasSize(2);
+    assertThat(publisher.hasSubscribers(WindSpeedUpdatedEvent.class)).isTrue();
+    publisher.unsubscribe(publisher.subscribe(EventFilter.forEventType(Object.class), event -> {}));
+    assertThat(publisher.getSubscriptionCount()).isEqualTo(4);
+  }
+
+  private List<Object> subscribe(EventFilter filter) {
+    List<Object> events = new ArrayList<>();
+    publisher.subscribe(filter, events::add);
+    return events;
+  }
+
+  private DevicePropertyEvent<Float> temperature(float value) {
+    return new DefaultTemperatureUpdatedEvent(temperatureId, "temperature", new DataWithTimestamp<>(value), null);
+  }
+
+  private static List<Object> values(List<Object> events) {
+    return events.stream().map(event -> (Object) ((DevicePropertyEvent<?>) event).getNewValue()).toList();
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import io.github.davemeier82.homeautomation.core.device.DeviceId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.event.ListenerBulkhead.OverflowPolicy;
+import io.github.davemeier82.homeautomation.core.event.factory.DefaultEventFactory;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ListenerBulkheadTest {
+
+  private static final OffsetDateTime TIMESTAMP = OffsetDateTime.parse("2024-01-01T00:00:00Z");
+
+  private final Queue<Object> delivered = new ConcurrentLinkedQueue<>();
+  // the drains only run when the test runs them, so the queue of the bulkhead fills up deterministically
+  private final Queue<Runnable> drains = new ConcurrentLinkedQueue<>();
+  private final Executor manualExecutor = drains::add;
+
+  @Test
+  void dropOldestDropsThePendingEventsInArrivalOrder() {
+    ListenerBulkhead<Integer> bulkhead = new ListenerBulkhead<>("test", Integer.class, delivered::add, 2, OverflowPolicy.DROP_OLDEST, manualExecutor);
+    for (int i = 0; i < 5; i++) {
+      bulkhead.offer(i);
+    }
+    assertThat(bulkhead.getQueueDepth()).isEqualTo(2);
+
+    runDrains();
+
+    assertThat(List.copyOf(delivered)).containsExactly(3, 4);
+    assertThat(bulkhead.getDroppedEventCount()).isEqualTo(3L);
+    assertThat(bulkhead.getOfferedEventCount()).isEqualTo(5L);
+    assertThat(bulkhead.getProcessedEventCount()).isEqualTo(2L);
+  }
+
+  @Test
+  void coalesceByPropertyReplacesThePendingEventOfTheSameProperty() {
+    DefaultEventFactory eventFactory = new DefaultEventFactory();
+    DeviceId deviceId = new DeviceId("1", () -> "test");
+    DevicePropertyId first = new DevicePropertyId(deviceId, "first");
+    DevicePropertyId second = new DevicePropertyId(deviceId, "second");
+    DevicePropertyId third = new DevicePropertyId(deviceId, "third");
+    ListenerBulkhead<TemperatureUpdatedEvent> bulkhead = new ListenerBulkhead<>("test", TemperatureUpdatedEvent.class, event -> delivered.add(event.getNewValue()), 2,
+        OverflowPolicy.COALESCE_BY_PROPERTY, manualExecutor);
+
+    bulkhead.offer(eventFactory.createTemperatureUpdatedEvent(first, new DataWithTimestamp<>(TIMESTAMP, 1f), null, "first"));
+    bulkhead.offer(eventFactory.createTemperatureUpdatedEvent(second, new DataWithTimestamp<>(TIMESTAMP, 2f), null, "second"));
+    // the queue is full, the pending event of the first property is replaced in place
+    bulkhead.offer(eventFactory.createTemperatureUpdatedEvent(first, new DataWithTimestamp<>(TIMESTAMP, 11f), null, "first"));
+    // there is no pending event of the third property, the oldest event is dropped
+    bulkhead.offer(eventFactory.createTemperatureUpdatedEvent(third, new DataWithTimestamp<>(TIMESTAMP, 3f), null, "third"));
+
+    runDrains();
+
+    assertThat(List.copyOf(delivered)).containsExactly(2f, 3f);
+    assertThat(bulkhead.getCoalescedEventCount()).isEqualTo(1L);
+    assertThat(bulkhead.getDroppedEventCount()).isEqualTo(1L);
+  }
+
+  @Test
+  void blockWaitsUntilThereIsSpace() throws InterruptedException {
+    ListenerBulkhead<Integer> bulkhead = new ListenerBulkhead<>("test", Integer.class, delivered::add, 1, OverflowPolicy.BLOCK, manualExecutor);
+    bulkhead.offer(1);
+    Thread publisher = new Thread(() -> bulkhead.offer(2));
+    publisher.start();
+    awaitState(publisher, Thread.State.WAITING);
+
+    runDrains();
+    publisher.join(TimeUnit.SECONDS.toMillis(5));
+    assertThat(publisher.isAlive()).isFalse();
+    runDrains();
+
+    assertThat(List.copyOf(delivered)).containsExactly(1, 2);
+    assertThat(bulkhead.getDroppedEventCount()).isEqualTo(0L);
+  }
+
+  @Test
+  void rejectedEventsAreDroppedAndTheNextEventIsScheduledAgain() {
+    AtomicBoolean reject = new AtomicBoolean(true);
+    ListenerBulkhead<Integer> bulkhead = new ListenerBulkhead<>("test", Integer.class, delivered::add, 4, OverflowPolicy.BLOCK, command -> {
+      if (reject.get()) {
+        throw new RejectedExecutionException("saturated");
+      }
+      command.run();
+    });
+
+    bulkhead.offer(1);
+    assertThat(bulkhead.getDroppedEventCount()).isEqualTo(1L);
+    assertThat(bulkhead.getQueueDepth()).isEqualTo(0);
+    reject.set(false);
+    bulkhead.offer(2);
+
+    assertThat(List.copyOf(delivered)).containsExactly(2);
+  }
+
+  @Test
+  void metricsCountFailuresAndLag() throws InterruptedException {
+    ListenerBulkhead<Integer> bulkhead = new ListenerBulkhead<>("test", Integer.class, event -> {
+      if (event == 2) {
+        throw new IllegalStateException("listener failed");
+      }
+      delivered.add(event);
+    }, 4, OverflowPolicy.BLOCK, manualExecutor);
+
+    bulkhead.offer(1);
+    bulkhead.offer(2);
+    bulkhead.offer(3);
+    TimeUnit.MILLISECONDS.sleep(5);
+    assertThat(bulkhead.getLag().compareTo(Duration.ofMillis(5))).isGreaterThanOrEqualTo(0);
+    runDrains();
+
+    assertThat(List.copyOf(delivered)).containsExactly(1, 3);
+    assertThat(bulkhead.getProcessedEventCount()).isEqualTo(3L);
+    assertThat(bulkhead.getFailedEventCount()).isEqualTo(1L);
+    assertThat(bulkhead.getLag()).isEqualTo(Duration.ZERO);
+    assertThat(bulkhead.getMaxProcessingTime().compareTo(bulkhead.getAverageProcessingTime())).isGreaterThanOrEqualTo(0);
+  }
+
+  @Test
+  void closedBulkheadDropsNewEventsButDeliversPendingOnes() {
+    ListenerBulkhead<Integer> bulkhead = new ListenerBulkhead<>("test", Integer.class, delivered::add, 4, OverflowPolicy.BLOCK, manualExecutor);
+    bulkhead.offer(1);
+    bulkhead.close();
+    bulkhead.offer(2);
+
+    runDrains();
+
+    assertThat(List.copyOf(delivered)).containsExactly(1);
+    assertThat(bulkhead.getDroppedEventCount()).isEqualTo(1L);
+  }
+
+  private void runDrains() {
+    Runnable drain;
+    while ((drain = drains.poll()) != null) {
+      drain.run();
+    }
+  }
+
+  private static void awaitState(Thread thread, Thread.State state) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (thread.getState() != state && System.nanoTime() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(1);
+    }
+    assertThat(thread.getState()).isEqualTo(state);
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import io.github.davemeier82.homeautomation.core.device.DeviceId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.event.factory.DefaultEventFactory;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.davemeier82.homeautomation.core.event.AsyncEventPublisher.WaitStrategy.PARK;
+import static io.github.davemeier82.homeautomation.core.event.AsyncEventPublisher.WaitStrategy.YIELD;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartitionedEventPublisherTest {
+
+  private static final OffsetDateTime TIMESTAMP = OffsetDateTime.parse("2024-01-01T00:00:00Z");
+
+  private final DefaultEventFactory eventFactory = new DefaultEventFactory();
+  private final DeviceId deviceId = new DeviceId("1", () -> "test");
+
+  @Test
+  void eventsOfADevicePropertyAreDeliveredInOrderOnOneLane() throws InterruptedException {
+    Map<DevicePropertyId, Queue<Object>> delivered = new ConcurrentHashMap<>();
+    Map<DevicePropertyId, Queue<String>> threads = new ConcurrentHashMap<>();
+    PartitionedEventPublisher publisher = new PartitionedEventPublisher(event -> {
+      DevicePropertyEvent<?> devicePropertyEvent = (DevicePropertyEvent<?>) event;
+      delivered.computeIfAbsent(devicePropertyEvent.getDevicePropertyId(), id -> new ConcurrentLinkedQueue<>()).add(devicePropertyEvent.getNewValue());
+      threads.computeIfAbsent(devicePropertyEvent.getDevicePropertyId(), id -> new ConcurrentLinkedQueue<>()).add(Thread.currentThread().getName());
+    }, 4, 16, 4, YIELD);
+    List<DevicePropertyId> devicePropertyIds = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      devicePropertyIds.add(new DevicePropertyId(deviceId, "temperature" + i));
+    }
+    try {
+      for (int i = 0; i < 1_000; i++) {
+        for (DevicePropertyId devicePropertyId : devicePropertyIds) {
+          publisher.publishEvent(updatedEvent(devicePropertyId, i));
+        }
+      }
+    } finally {
+      publisher.close();
+    }
+
+    for (DevicePropertyId devicePropertyId : devicePropertyIds) {
+      List<Object> values = List.copyOf(delivered.get(devicePropertyId));
+      assertThat(values).hasSize(1_000);
+      for (int i = 0; i < 1_000; i++) {
+        assertThat(values.get(i)).isEqualTo((float) i);
+      }
+      assertThat(threads.get(devicePropertyId).stream().distinct().count()).isEqualTo(1L);
+    }
+  }
+
+  @Test
+  void newDevicePropertyIsDeliveredBeforeItsFirstValue() throws InterruptedException {
+    CountDownLatch releaseLane = new CountDownLatch(1);
+    Queue<Object> delivered = new ConcurrentLinkedQueue<>();
+    DevicePropertyId devicePropertyId = new DevicePropertyId(deviceId, "temperature");
+    PartitionedEventPublisher publisher = new PartitionedEventPublisher(event -> {
+      if (event instanceof NewDevicePropertyCreatedEvent) {
+        await(releaseLane);
+      }
+      delivered.add(event);
+    }, 4, 16, 4, PARK);
+    try {
+      NewDevicePropertyCreatedEvent created = eventFactory.createNewDevicePropertyCreatedEvent(devicePropertyId);
+      publisher.publishEvent(created);
+      // the lane of the device property is blocked by the creation event, the value must not overtake it
+      publisher.publishEvent(updatedEvent(devicePropertyId, 1));
+      TimeUnit.MILLISECONDS.sleep(20);
+      assertThat(delivered).isEmpty();
+      releaseLane.countDown();
+    } finally {
+      releaseLane.countDown();
+      publisher.close();
+    }
+
+    assertThat(delivered).hasSize(2);
+    assertThat(delivered.peek()).isInstanceOf(NewDevicePropertyCreatedEvent.class);
+  }
+
+  @Test
+  void listenersCanPublishIntoEachOthersFullLanes() throws InterruptedException {
+    PartitionedEventPublisher[] publisher = new PartitionedEventPublisher[1];
+    CountDownLatch bothLanesBlocked = new CountDownLatch(2);
+    CountDownLatch lanesFull = new CountDownLatch(1);
+    DevicePropertyId[] lanes = new DevicePropertyId[2];
+    Queue<Object> delivered = new ConcurrentLinkedQueue<>();
+    publisher[0] = new PartitionedEventPublisher(event -> {
+      DevicePropertyEvent<?> devicePropertyEvent = (DevicePropertyEvent<?>) event;
+      delivered.add(event);
+      if (devicePropertyEvent.getNewValue().equals(-1f)) {
+        bothLanesBlocked.countDown();
+        await(lanesFull);
+        // each lane publishes into the full buffer of the other lane
+        DevicePropertyId other = devicePropertyEvent.getDevicePropertyId().equals(lanes[0]) ? lanes[1] : lanes[0];
+        for (int i = 0; i < 10; i++) {
+          publisher[0].publishEvent(updatedEvent(other, 100 + i));
+        }
+      }
+    }, 2, 2, 1, PARK);
+    lanes[0] = new DevicePropertyId(deviceId, "temperature0");
+    lanes[1] = findIdOnOtherLane(publisher[0], lanes[0]);
+    try {
+      publisher[0].publishEvent(updatedEvent(lanes[0], -1));
+      publisher[0].publishEvent(updatedEvent(lanes[1], -1));
+      assertThat(bothLanesBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+      for (int i = 0; i < 2; i++) {
+        publisher[0].publishEvent(updatedEvent(lanes[0], i));
+        publisher[0].publishEvent(updatedEvent(lanes[1], i));
+      }
+    } finally {
+      lanesFull.countDown();
+    }
+    Thread closer = new Thread(publisher[0]::close);
+    closer.start();
+    closer.join(TimeUnit.SECONDS.toMillis(5));
+
+    assertThat(closer.isAlive()).isFalse();
+    assertThat(delivered).hasSize(26);
+    assertThat(publisher[0].getInlineDeliveredEventCount()).isGreaterThan(0L);
+  }
+
+  private DevicePropertyId findIdOnOtherLane(PartitionedEventPublisher publisher, DevicePropertyId devicePropertyId) {
+    for (int i = 1; ; i++) {
+      DevicePropertyId candidate = new DevicePropertyId(deviceId, "temperature" + i);
+      if (publisher.laneIndexOf(candidate) != publisher.laneIndexOf(devicePropertyId)) {
+        return candidate;
+      }
+    }
+  }
+
+  private TemperatureUpdatedEvent updatedEvent(DevicePropertyId devicePropertyId, float value) {
+    return eventFactory.createTemperatureUpdatedEvent(devicePropertyId, new DataWithTimestamp<>(TIMESTAMP, value), null, "temperature");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
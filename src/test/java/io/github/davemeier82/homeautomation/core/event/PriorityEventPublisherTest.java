@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import io.github.davemeier82.homeautomation.core.device.DeviceId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.event.defaults.DefaultSmokeStateChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.defaults.DefaultTemperatureUpdatedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriorityEventPublisherTest {
+
+  private static final int ROUTINE_EVENTS = 5_000;
+
+  private final DeviceId deviceId = new DeviceId("1", () -> "test");
+  private final DevicePropertyId temperatureId = new DevicePropertyId(deviceId, "temperature");
+  private final DevicePropertyId smokeId = new DevicePropertyId(deviceId, "smoke");
+
+  @Test
+  void smokeEventOvertakesRoutineEventsUnderLoad() throws InterruptedException {
+    CountDownLatch firstEventDelivered = new CountDownLatch(1);
+    CountDownLatch releaseDelegate = new CountDownLatch(1);
+    List<Object> delivered = new ArrayList<>();
+    PriorityEventPublisher publisher = new PriorityEventPublisher(event -> {
+      delivered.add(event);
+      firstEventDelivered.countDown();
+      await(releaseDelegate);
+    }, ROUTINE_EVENTS);
+    try {
+      for (int i = 0; i < ROUTINE_EVENTS; i++) {
+        publisher.publishEvent(temperatureEvent(i));
+      }
+      // the delegate is blocked in the first routine event, all others are pending
+      assertThat(firstEventDelivered.await(5, TimeUnit.SECONDS)).isTrue();
+      publisher.publishEvent(smokeEvent());
+      assertThat(publisher.getPendingNormalEventCount()).isEqualTo(ROUTINE_EVENTS - 1);
+      assertThat(publisher.getPendingHighPriorityEventCount()).isEqualTo(1);
+    } finally {
+      releaseDelegate.countDown();
+      publisher.close();
+    }
+
+    assertThat(delivered).hasSize(ROUTINE_EVENTS + 1);
+    // the smoke event only waits for the event that the delegate was processing
+    assertThat(delivered.get(1)).isInstanceOf(SmokeStateChangedEvent.class);
+    assertThat(publisher.getNormalEventCount()).isEqualTo((long) ROUTINE_EVENTS);
+    assertThat(publisher.getHighPriorityEventCount()).isEqualTo(1L);
+  }
+
+  @Test
+  void highPriorityLaneIsBounded() throws InterruptedException {
+    CountDownLatch firstEventDelivered = new CountDownLatch(1);
+    CountDownLatch releaseDelegate = new CountDownLatch(1);
+    PriorityEventPublisher publisher = new PriorityEventPublisher(event -> {
+      firstEventDelivered.countDown();
+      await(releaseDelegate);
+    }, PriorityEventPublisher.DEFAULT_HIGH_PRIORITY_VALUE_TYPES, 8, 2);
+    Thread caller = new Thread(() -> {
+      for (int i = 0; i < 4; i++) {
+        publisher.publishEvent(smokeEvent());
+      }
+    });
+    try {
+      publisher.publishEvent(smokeEvent());
+      assertThat(firstEventDelivered.await(5, TimeUnit.SECONDS)).isTrue();
+      caller.start();
+      // two events fit into the lane, the caller waits with the third one
+      awaitState(caller, Thread.State.WAITING);
+      assertThat(publisher.getPendingHighPriorityEventCount()).isEqualTo(2);
+      // routine events do not take space from the high-priority lane
+      publisher.publishEvent(temperatureEvent(1));
+    } finally {
+      releaseDelegate.countDown();
+      caller.join(TimeUnit.SECONDS.toMillis(5));
+      publisher.close();
+    }
+
+    assertThat(caller.isAlive()).isFalse();
+    assertThat(publisher.getHighPriorityEventCount()).isEqualTo(5L);
+    assertThat(publisher.getNormalEventCount()).isEqualTo(1L);
+  }
+
+  private DefaultTemperatureUpdatedEvent temperatureEvent(int value) {
+    return new DefaultTemperatureUpdatedEvent(temperatureId, "temperature", new DataWithTimestamp<>((float) value), null);
+  }
+
+  private DefaultSmokeStateChangedEvent smokeEvent() {
+    return new DefaultSmokeStateChangedEvent(smokeId, "smoke", new DataWithTimestamp<>(true), null);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void awaitState(Thread thread, Thread.State state) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (thread.getState() != state && System.nanoTime() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(1);
+    }
+    assertThat(thread.getState()).isEqualTo(state);
+  }
+}
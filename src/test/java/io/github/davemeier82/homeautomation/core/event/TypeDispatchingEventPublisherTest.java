@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.event;
+
+import io.github.davemeier82.homeautomation.core.device.DeviceId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.event.defaults.DefaultMqttClientConnectedEvent;
+import io.github.davemeier82.homeautomation.core.event.defaults.DefaultTemperatureChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeDispatchingEventPublisherTest {
+
+  private final DevicePropertyId temperatureId = new DevicePropertyId(new DeviceId("1", () -> "test"), "temperature");
+  private final TypeDispatchingEventPublisher publisher = new TypeDispatchingEventPublisher();
+
+  @Test
+  void eventsAreRoutedThroughInterfaceHierarchies() {
+    List<String> received = new ArrayList<>();
+    publisher.subscribe(DevicePropertyChangedEvent.class, event -> received.add("changed"));
+    publisher.subscribe(TemperatureChangedEvent.class, event -> received.add("temperature"));
+    publisher.subscribe(DevicePropertyEvent.class, event -> received.add("property"));
+    publisher.subscribe(HumidityUpdatedEvent.class, event -> received.add("humidity"));
+    publisher.subscribe(MqttClientConnectedEvent.class, event -> received.add("mqtt"));
+
+    publisher.publishEvent(temperatureChanged(20));
+    publisher.publishEvent(new DefaultMqttClientConnectedEvent(null));
+
+    assertThat(received).containsExactly("changed", "temperature", "property", "mqtt");
+  }
+
+  @Test
+  void cachedRoutesAreReplacedOnSubscribeAndUnsubscribe() {
+    List<Object> temperatures = new ArrayList<>();
+    List<Object> allEvents = new ArrayList<>();
+    publisher.subscribe(TemperatureChangedEvent.class, temperatures::add);
+    publisher.publishEvent(temperatureChanged(20));
+    assertThat(publisher.hasSubscribers(MqttClientConnectedEvent.class)).isFalse();
+
+    TypeDispatchingEventPublisher.Handler<Object> handler = publisher.subscribe(Object.class, allEvents::add);
+    publisher.publishEvent(temperatureChanged(21));
+    assertThat(publisher.hasSubscribers(MqttClientConnectedEvent.class)).isTrue();
+
+    publisher.unsubscribe(handler);
+    publisher.publishEvent(temperatureChanged(22));
+
+    assertThat(temperatures).hasSize(3);
+    assertThat(allEvents).hasSize(1);
+    assertThat(publisher.getHandlerCount()).isEqualTo(1);
+    assertThat(publisher.hasSubscribers(MqttClientConnectedEvent.class)).isFalse();
+  }
+
+  @Test
+  void hasSubscribersConsidersSubAndSupertypes() {
+    publisher.subscribe(DevicePropertyChangedEvent.class, event -> {});
+
+    assertThat(publisher.hasSubscribers(TemperatureChangedEvent.class)).isTrue();
+    assertThat(publisher.hasSubscribers(DefaultTemperatureChangedEvent.class)).isTrue();
+    assertThat(publisher.hasSubscribers(Object.class)).isTrue();
+    assertThat(publisher.hasSubscribers(TemperatureUpdatedEvent.class)).isFalse();
+  }
+
+  private DefaultTemperatureChangedEvent temperatureChanged(float value) {
+    return new DefaultTemperatureChangedEvent(temperatureId, "temperature", new DataWithTimestamp<>(value), null);
+  }
+}
@@ -31,4 +31,9 @@ class DefaultEventFactoryTest {
   void fromEventName() {
     assertThat(eventFactory.fromEventName("WindowStateChangedEvent")).isEqualTo(Optional.of(WindowStateChangedEvent.class));
   }
+
+  @Test
+  void fromUnknownEventName() {
+    assertThat(eventFactory.fromEventName("DataWithTimestamp")).isEmpty();
+  }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.repositories;
+
+import io.github.davemeier82.homeautomation.core.device.DeviceId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueKey;
+import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.RELATIVE_HUMIDITY;
+import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.TEMPERATURE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingDevicePropertyValueRepositoryTest {
+
+  private static final OffsetDateTime TIME = OffsetDateTime.parse("2024-01-01T00:00:00Z");
+
+  private final DeviceId deviceId = new DeviceId("1", () -> "test");
+  private final DevicePropertyId temperatureId = new DevicePropertyId(deviceId, "temperature");
+  private final InMemoryDevicePropertyValueRepository delegate = new InMemoryDevicePropertyValueRepository();
+  private final CachingDevicePropertyValueRepository repository = new CachingDevicePropertyValueRepository(delegate, 2);
+
+  @Test
+  void missIsLoadedOnceAndThenServedFromTheCache() {
+    delegate.insert(temperatureId, TEMPERATURE, "temperature", 20f, TIME);
+
+    assertThat(repository.findLatestValue(temperatureId, TEMPERATURE, Float.class).map(DataWithTimestamp::getValue)).isEqualTo(Optional.of(20f));
+    assertThat(repository.findLatestValue(temperatureId, TEMPERATURE, Float.class).map(DataWithTimestamp::getValue)).isEqualTo(Optional.of(20f));
+    assertThat(repository.findLatestValue(temperatureId, RELATIVE_HUMIDITY, Float.class)).isEmpty();
+    assertThat(repository.findLatestValue(temperatureId, RELATIVE_HUMIDITY, Float.class)).isEmpty();
+
+    assertThat(delegate.getSingleLookupCount()).isEqualTo(2);
+    assertThat(repository.getMissCount()).isEqualTo(2L);
+    assertThat(repository.getHitCount()).isEqualTo(2L);
+  }
+
+  @Test
+  void writesGoThroughToTheDelegateAndRefreshTheCache() {
+    repository.findLatestValue(temperatureId, TEMPERATURE, Float.class);
+    repository.insert(temperatureId, TEMPERATURE, "temperature", 21f, TIME);
+    repository.insertAll(List.of(new DevicePropertyValue(temperatureId, TEMPERATURE, "temperature", new DataWithTimestamp<>(TIME.plusMinutes(1), 22f))));
+    // an older value is persisted, but does not replace the latest one
+    repository.insert(temperatureId, TEMPERATURE, "temperature", 19f, TIME.minusMinutes(1));
+
+    assertThat(delegate.getValues()).hasSize(3);
+    assertThat(repository.findLatestValue(temperatureId, TEMPERATURE, Float.class).map(DataWithTimestamp::getValue)).isEqualTo(Optional.of(22f));
+    assertThat(delegate.getSingleLookupCount()).isEqualTo(1);
+  }
+
+  @Test
+  void updatedLatestValueIsOnlyCached() {
+    repository.updateLatestValue(temperatureId, TEMPERATURE, new DataWithTimestamp<>(TIME, 23f));
+
+    assertThat(repository.findLatestValue(temperatureId, TEMPERATURE, Float.class).map(DataWithTimestamp::getValue)).isEqualTo(Optional.of(23f));
+    assertThat(delegate.getValues()).isEmpty();
+    assertThat(delegate.getSingleLookupCount()).isEqualTo(0);
+  }
+
+  @Test
+  void batchLookupLoadsOnlyTheMissingKeys() {
+    DevicePropertyId humidityId = new DevicePropertyId(deviceId, "humidity");
+    delegate.insert(humidityId, RELATIVE_HUMIDITY, "humidity", 50f, TIME);
+    repository.updateLatestValue(temperatureId, TEMPERATURE, new DataWithTimestamp<>(TIME, 20f));
+
+    List<DevicePropertyValueKey> keys = List.of(new DevicePropertyValueKey(temperatureId, TEMPERATURE), new DevicePropertyValueKey(humidityId, RELATIVE_HUMIDITY));
+    assertThat(repository.findLatestValues(keys).size()).isEqualTo(2);
+    assertThat(repository.findLatestValues(keys).size()).isEqualTo(2);
+
+    assertThat(delegate.getBatchLookupCount()).isEqualTo(1);
+    assertThat(repository.getHitCount()).isEqualTo(3L);
+  }
+
+  @Test
+  void cacheIsBoundedAndEvictedPerDeviceProperty() {
+    for (int i = 0; i < 5; i++) {
+      repository.updateLatestValue(new DevicePropertyId(deviceId, "temperature" + i), TEMPERATURE, new DataWithTimestamp<>(TIME, (float) i));
+    }
+    assertThat(repository.size()).isEqualTo(2);
+    assertThat(repository.getEvictionCount()).isEqualTo(3L);
+
+    repository.updateLatestValue(temperatureId, RELATIVE_HUMIDITY, new DataWithTimestamp<>(TIME, 50f));
+    repository.updateLatestValue(temperatureId, TEMPERATURE, new DataWithTimestamp<>(TIME, 20f));
+    repository.evict(temperatureId);
+    repository.findLatestValue(temperatureId, TEMPERATURE, Float.class);
+
+    assertThat(delegate.getSingleLookupCount()).isEqualTo(1);
+  }
+}
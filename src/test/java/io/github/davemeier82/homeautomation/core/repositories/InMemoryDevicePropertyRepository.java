@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.repositories;
+
+import io.github.davemeier82.homeautomation.core.device.DeviceId;
+import io.github.davemeier82.homeautomation.core.device.property.DeviceProperty;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.stream.Collectors.toSet;
+
+public class InMemoryDevicePropertyRepository implements DevicePropertyRepository {
+
+  private final Map<DevicePropertyId, DeviceProperty> deviceProperties = new ConcurrentHashMap<>();
+
+  @Override
+  public Optional<DeviceProperty> findByDevicePropertyId(DevicePropertyId devicePropertyId) {
+    return Optional.ofNullable(deviceProperties.get(devicePropertyId));
+  }
+
+  @Override
+  public List<DeviceProperty> findByDeviceId(DeviceId deviceId) {
+    return deviceProperties.values().stream().filter(p -> p.getId().deviceId().equals(deviceId)).toList();
+  }
+
+  @Override
+  public Set<DeviceProperty> findByType(DevicePropertyType type) {
+    return deviceProperties.values().stream().filter(p -> p.getType().equals(type)).collect(toSet());
+  }
+
+  @Override
+  public void save(DeviceProperty deviceProperty) {
+    deviceProperties.put(deviceProperty.getId(), deviceProperty);
+  }
+
+  @Override
+  public void delete(DevicePropertyId devicePropertyId) {
+    deviceProperties.remove(devicePropertyId);
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.repositories;
+
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueKey;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueType;
+import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Stores the values in memory and counts the calls, e.g. to verify that a cache or batching avoids repository access.
+ */
+public class InMemoryDevicePropertyValueRepository implements DevicePropertyValueRepository {
+
+  private final Queue<DevicePropertyValue> values = new ConcurrentLinkedQueue<>();
+  private final Queue<Integer> batchSizes = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger singleLookups = new AtomicInteger();
+  private final AtomicInteger batchLookups = new AtomicInteger();
+
+  @Override
+  public void insert(DevicePropertyId devicePropertyId, DevicePropertyValueType devicePropertyValueType, String displayName, Object value, OffsetDateTime time) {
+    batchSizes.add(1);
+    values.add(new DevicePropertyValue(devicePropertyId, devicePropertyValueType, displayName, new DataWithTimestamp<>(time, value)));
+  }
+
+  @Override
+  public void insertAll(List<DevicePropertyValue> values) {
+    batchSizes.add(values.size());
+    this.values.addAll(values);
+  }
+
+  @Override
+  public <T> Optional<DataWithTimestamp<T>> findLatestValue(DevicePropertyId devicePropertyId, DevicePropertyValueType devicePropertyValueType, Class<T> clazz) {
+    singleLookups.incrementAndGet();
+    return latest(new DevicePropertyValueKey(devicePropertyId, devicePropertyValueType))
+        .map(value -> new DataWithTimestamp<>(value.time(), clazz.cast(value.value())));
+  }
+
+  @Override
+  public Map<DevicePropertyValueKey, DataWithTimestamp<?>> findLatestValues(Collection<DevicePropertyValueKey> keys) {
+    batchLookups.incrementAndGet();
+    return keys.stream()
+        .flatMap(key -> latest(key).stream().map(value -> Map.entry(key, (DataWithTimestamp<?>) value.data())))
+        .collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
+  }
+
+  @Override
+  public Optional<OffsetDateTime> lastTimeValueMatched(DevicePropertyId devicePropertyId, DevicePropertyValueType devicePropertyValueType, Object value) {
+    return values.stream()
+        .filter(v -> v.devicePropertyId().equals(devicePropertyId) && v.devicePropertyValueType().equals(devicePropertyValueType) && v.value().equals(value))
+        .map(DevicePropertyValue::time)
+        .max(Comparator.naturalOrder());
+  }
+
+  public List<DevicePropertyValue> getValues() {
+    return List.copyOf(values);
+  }
+
+  public List<Integer> getBatchSizes() {
+    return List.copyOf(batchSizes);
+  }
+
+  public int getSingleLookupCount() {
+    return singleLookups.get();
+  }
+
+  public int getBatchLookupCount() {
+    return batchLookups.get();
+  }
+
+  private Optional<DevicePropertyValue> latest(DevicePropertyValueKey key) {
+    return values.stream()
+        .filter(v -> v.devicePropertyId().equals(key.devicePropertyId()) && v.devicePropertyValueType().equals(key.devicePropertyValueType()))
+        .max(Comparator.comparing(DevicePropertyValue::time));
+  }
+}
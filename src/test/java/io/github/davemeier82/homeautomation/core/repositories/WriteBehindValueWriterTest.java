@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.repositories;
+
+import io.github.davemeier82.homeautomation.core.device.DeviceId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.TEMPERATURE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteBehindValueWriterTest {
+
+  private static final OffsetDateTime TIME = OffsetDateTime.parse("2024-01-01T00:00:00Z");
+
+  private final DevicePropertyId temperatureId = new DevicePropertyId(new DeviceId("1", () -> "test"), "temperature");
+
+  @Test
+  void fullBatchesAreInsertedWithoutWaitingForTheDelay() throws InterruptedException {
+    InMemoryDevicePropertyValueRepository repository = new InMemoryDevicePropertyValueRepository();
+    try (WriteBehindValueWriter writer = new WriteBehindValueWriter(repository, 100, 10, Duration.ofSeconds(10))) {
+      for (int i = 0; i < 30; i++) {
+        assertThat(write(writer, i)).isTrue();
+      }
+      awaitInserted(writer, 30);
+
+      assertThat(repository.getBatchSizes()).containsExactly(10, 10, 10);
+    }
+  }
+
+  @Test
+  void partialBatchIsInsertedAfterTheDelay() throws InterruptedException {
+    InMemoryDevicePropertyValueRepository repository = new InMemoryDevicePropertyValueRepository();
+    try (WriteBehindValueWriter writer = new WriteBehindValueWriter(repository, 100, 10, Duration.ofMillis(20))) {
+      write(writer, 1);
+      write(writer, 2);
+      awaitInserted(writer, 2);
+
+      assertThat(repository.getBatchSizes()).containsExactly(2);
+    }
+  }
+
+  @Test
+  void valuesAreDroppedWhenTheQueueIsFull() throws InterruptedException {
+    CountDownLatch insertStarted = new CountDownLatch(1);
+    CountDownLatch releaseInsert = new CountDownLatch(1);
+    InMemoryDevicePropertyValueRepository repository = new InMemoryDevicePropertyValueRepository() {
+      @Override
+      public void insertAll(List<DevicePropertyValue> values) {
+        insertStarted.countDown();
+        try {
+          releaseInsert.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        super.insertAll(values);
+      }
+    };
+    try (WriteBehindValueWriter writer = new WriteBehindValueWriter(repository, 4, 1, Duration.ofMillis(1))) {
+      write(writer, 0);
+      // the writer thread is blocked in the insert of the first value
+      assertThat(insertStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      for (int i = 1; i <= 4; i++) {
+        assertThat(write(writer, i)).isTrue();
+      }
+      assertThat(write(writer, 5)).isFalse();
+      assertThat(writer.getQueueDepth()).isEqualTo(4);
+      assertThat(writer.getDroppedValueCount()).isEqualTo(1L);
+      releaseInsert.countDown();
+    }
+    assertThat(repository.getValues()).hasSize(5);
+  }
+
+  @Test
+  void closeInsertsAllQueuedValues() {
+    InMemoryDevicePropertyValueRepository repository = new InMemoryDevicePropertyValueRepository();
+    WriteBehindValueWriter writer = new WriteBehindValueWriter(repository, 1_000, 100, Duration.ofHours(1));
+    for (int i = 0; i < 250; i++) {
+      write(writer, i);
+    }
+    writer.close();
+
+    assertThat(repository.getValues()).hasSize(250);
+    assertThat(writer.getInsertedValueCount()).isEqualTo(250L);
+    assertThat(write(writer, 250)).isFalse();
+  }
+
+  private boolean write(WriteBehindValueWriter writer, int value) {
+    return writer.write(temperatureId, TEMPERATURE, "temperature", new DataWithTimestamp<>(TIME.plusSeconds(value), (float) value));
+  }
+
+  private static void awaitInserted(WriteBehindValueWriter writer, long values) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (writer.getInsertedValueCount() < values && System.nanoTime() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(1);
+    }
+    assertThat(writer.getInsertedValueCount()).isEqualTo(values);
+  }
+}
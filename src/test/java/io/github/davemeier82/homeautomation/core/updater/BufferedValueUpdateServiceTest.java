@@ -0,0 +1,175 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater;
+
+import io.github.davemeier82.homeautomation.core.device.DeviceId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.TEMPERATURE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BufferedValueUpdateServiceTest {
+
+  private static final OffsetDateTime TIMESTAMP = OffsetDateTime.parse("2024-01-01T00:00:00Z");
+
+  private final DeviceId deviceId = new DeviceId("1", () -> "test");
+  private final Queue<String> processed = new ConcurrentLinkedQueue<>();
+  private final CountDownLatch processingStarted = new CountDownLatch(1);
+  private final CountDownLatch releaseProcessing = new CountDownLatch(1);
+  private final ValueUpdateService blockingDelegate = (devicePropertyValueType, value, timestamp, devicePropertyId, displayName) -> {
+    processingStarted.countDown();
+    try {
+      releaseProcessing.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    processed.add(devicePropertyId.id() + value);
+  };
+
+  @Test
+  void updatesAreProcessedInOrderAcrossTheEndOfTheRing() throws InterruptedException {
+    releaseProcessing.countDown();
+    try (BufferedValueUpdateService service = new BufferedValueUpdateService(blockingDelegate, 4, 3)) {
+      for (int i = 0; i < 10; i++) {
+        update(service, "a", i);
+        if (i % 3 == 2) {
+          // keeps the buffer from filling up, so that no update is coalesced
+          awaitProcessed(service, i + 1);
+        }
+      }
+      awaitProcessed(service, 10);
+    }
+
+    assertThat(List.copyOf(processed)).containsExactly("a0", "a1", "a2", "a3", "a4", "a5", "a6", "a7", "a8", "a9");
+  }
+
+  @Test
+  void updatesOfTheSamePropertyAreNotCoalescedWhileThereIsSpace() throws InterruptedException {
+    BufferedValueUpdateService service = new BufferedValueUpdateService(blockingDelegate, 4, 1);
+    try {
+      update(service, "a", 0);
+      assertThat(processingStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      update(service, "a", 1);
+      update(service, "a", 2);
+
+      assertThat(service.getPendingUpdateCount()).isEqualTo(2);
+      assertThat(service.getCoalescedUpdateCount()).isEqualTo(0L);
+    } finally {
+      releaseAndClose(service);
+    }
+
+    assertThat(List.copyOf(processed)).containsExactly("a0", "a1", "a2");
+  }
+
+  @Test
+  void fullBufferCoalescesIntoPendingSlotsAndOverflowsInOrder() throws InterruptedException {
+    BufferedValueUpdateService service = new BufferedValueUpdateService(blockingDelegate, 2, 1);
+    try {
+      update(service, "a", 1);
+      // the consumer is blocked in the first update, the ring holds two more
+      assertThat(processingStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      update(service, "b", 1);
+      update(service, "c", 1);
+
+      // replaces the value in the ring slot of b
+      update(service, "b", 2);
+      // d and e wait in the overflow, the later update of d replaces the first one
+      update(service, "d", 1);
+      update(service, "d", 2);
+      update(service, "e", 1);
+      // a later update of a property in the overflow still coalesces while the overflow is full
+      update(service, "e", 2);
+
+      assertThat(service.getPendingUpdateCount()).isEqualTo(4);
+      assertThat(service.getCoalescedUpdateCount()).isEqualTo(3L);
+      assertThat(service.getDroppedUpdateCount()).isEqualTo(0L);
+    } finally {
+      releaseAndClose(service);
+    }
+
+    assertThat(List.copyOf(processed)).containsExactly("a1", "b2", "c1", "d2", "e2");
+  }
+
+  @Test
+  void updateIsDroppedIfTheBufferAndTheOverflowAreFull() throws InterruptedException {
+    BufferedValueUpdateService service = new BufferedValueUpdateService(blockingDelegate, 1, 1);
+    try {
+      update(service, "a", 1);
+      assertThat(processingStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      update(service, "b", 1);
+      update(service, "c", 1);
+      update(service, "d", 1);
+
+      assertThat(service.getDroppedUpdateCount()).isEqualTo(1L);
+      assertThat(service.getEnqueuedUpdateCount()).isEqualTo(3L);
+    } finally {
+      releaseAndClose(service);
+    }
+
+    assertThat(List.copyOf(processed)).containsExactly("a1", "b1", "c1");
+  }
+
+  @Test
+  void closeProcessesThePendingUpdatesAndRejectsNewOnes() throws InterruptedException {
+    BufferedValueUpdateService service = new BufferedValueUpdateService(blockingDelegate, 8, 2);
+    for (int i = 0; i < 6; i++) {
+      update(service, "a", i);
+    }
+    assertThat(processingStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    Thread closer = new Thread(service::close);
+    closer.start();
+    try {
+      // close waits for the consumer, which is still blocked in the first update
+      closer.join(100);
+      assertThat(closer.isAlive()).isTrue();
+    } finally {
+      releaseProcessing.countDown();
+    }
+    closer.join(TimeUnit.SECONDS.toMillis(5));
+
+    assertThat(closer.isAlive()).isFalse();
+    assertThat(service.getProcessedUpdateCount()).isEqualTo(6L);
+    update(service, "a", 6);
+    assertThat(service.getDroppedUpdateCount()).isEqualTo(1L);
+    assertThat(List.copyOf(processed)).containsExactly("a0", "a1", "a2", "a3", "a4", "a5");
+  }
+
+  private void releaseAndClose(BufferedValueUpdateService service) {
+    releaseProcessing.countDown();
+    service.close();
+  }
+
+  private void update(BufferedValueUpdateService service, String id, int value) {
+    service.update(TEMPERATURE, value, TIMESTAMP, new DevicePropertyId(deviceId, id), id);
+  }
+
+  private static void awaitProcessed(BufferedValueUpdateService service, long updates) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (service.getProcessedUpdateCount() < updates && System.nanoTime() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(1);
+    }
+    assertThat(service.getProcessedUpdateCount()).isEqualTo(updates);
+  }
+}
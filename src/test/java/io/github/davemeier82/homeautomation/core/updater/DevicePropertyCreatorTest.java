@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater;
+
+import io.github.davemeier82.homeautomation.core.device.DeviceId;
+import io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyFactory;
+import io.github.davemeier82.homeautomation.core.device.property.DeviceProperty;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.event.NewDevicePropertyCreatedEvent;
+import io.github.davemeier82.homeautomation.core.event.factory.DefaultEventFactory;
+import io.github.davemeier82.homeautomation.core.repositories.InMemoryDevicePropertyRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyType.TEMPERATURE_SENSOR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DevicePropertyCreatorTest {
+
+  private static final int THREADS = 8;
+
+  private final DevicePropertyId devicePropertyId = new DevicePropertyId(new DeviceId("1", () -> "test"), "temperature");
+  private final SlowDevicePropertyRepository repository = new SlowDevicePropertyRepository();
+  private final Queue<Object> events = new ConcurrentLinkedQueue<>();
+  private final DevicePropertyCreator creator = new DevicePropertyCreator(repository, new DefaultDevicePropertyFactory(), events::add, new DefaultEventFactory());
+
+  @Test
+  void devicePropertyIsCreatedExactlyOnceUnderConcurrency() throws InterruptedException {
+    Set<DeviceProperty> deviceProperties = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    for (int i = 0; i < THREADS; i++) {
+      executor.execute(() -> {
+        try {
+          start.await();
+          deviceProperties.add(creator.createDevicePropertyIfItDoesNotExist(devicePropertyId, TEMPERATURE_SENSOR, "temperature"));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+    }
+    start.countDown();
+    executor.shutdown();
+    assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+    assertThat(deviceProperties).hasSize(1);
+    assertThat(repository.saves.get()).isEqualTo(1);
+    assertThat(events).hasSize(1);
+    assertThat(events.peek()).isInstanceOf(NewDevicePropertyCreatedEvent.class);
+  }
+
+  @Test
+  void knownDevicePropertyIsLookedUpOnce() {
+    creator.createDevicePropertyIfItDoesNotExist(devicePropertyId, TEMPERATURE_SENSOR, "temperature");
+    int lookupsToCreate = repository.lookups.get();
+    creator.createDevicePropertiesIfTheyDoNotExist(List.of(new DevicePropertyDefinition(devicePropertyId, TEMPERATURE_SENSOR, "temperature")));
+    creator.createDevicePropertyIfItDoesNotExist(devicePropertyId, TEMPERATURE_SENSOR, "temperature");
+
+    assertThat(repository.lookups.get()).isEqualTo(lookupsToCreate);
+  }
+
+  @Test
+  void deletedDevicePropertyIsCreatedAgain() {
+    creator.createDevicePropertyIfItDoesNotExist(devicePropertyId, TEMPERATURE_SENSOR, "temperature");
+    creator.delete(devicePropertyId);
+    creator.createDevicePropertyIfItDoesNotExist(devicePropertyId, TEMPERATURE_SENSOR, "temperature");
+
+    assertThat(repository.findByDevicePropertyId(devicePropertyId).isPresent()).isTrue();
+    assertThat(events).hasSize(2);
+  }
+
+  @Test
+  void savedDevicePropertyReplacesTheCachedOne() {
+    creator.createDevicePropertyIfItDoesNotExist(devicePropertyId, TEMPERATURE_SENSOR, "temperature");
+    creator.save(new DefaultDevicePropertyFactory().createDeviceProperty(devicePropertyId, TEMPERATURE_SENSOR, "living room"));
+
+    assertThat(creator.createDevicePropertyIfItDoesNotExist(devicePropertyId, TEMPERATURE_SENSOR, "temperature").getDisplayName()).isEqualTo("living room");
+  }
+
+  private static class SlowDevicePropertyRepository extends InMemoryDevicePropertyRepository {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AtomicInteger saves = new AtomicInteger();
+
+    @Override
+    public Optional<DeviceProperty> findByDevicePropertyId(DevicePropertyId devicePropertyId) {
+      lookups.incrementAndGet();
+      // gives the other threads time to miss the cache as well
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+      return super.findByDevicePropertyId(devicePropertyId);
+    }
+
+    @Override
+    public void save(DeviceProperty deviceProperty) {
+      saves.incrementAndGet();
+      super.save(deviceProperty);
+    }
+  }
+}
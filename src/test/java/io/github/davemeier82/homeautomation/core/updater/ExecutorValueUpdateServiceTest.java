@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater;
+
+import io.github.davemeier82.homeautomation.core.device.DeviceId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.TEMPERATURE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutorValueUpdateServiceTest {
+
+  private static final OffsetDateTime TIMESTAMP = OffsetDateTime.parse("2024-01-01T00:00:00Z");
+
+  private final DeviceId deviceId = new DeviceId("1", () -> "test");
+  private final Map<String, Queue<Object>> processed = new ConcurrentHashMap<>();
+  private final ValueUpdateService recordingDelegate = (devicePropertyValueType, value, timestamp, devicePropertyId, displayName) ->
+      processed.computeIfAbsent(devicePropertyId.id(), id -> new ConcurrentLinkedQueue<>()).add(value);
+
+  @Test
+  void updatesOfADevicePropertyAreProcessedInOrderAndIdleMailboxesAreRemoved() throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      ExecutorValueUpdateService service = new ExecutorValueUpdateService(recordingDelegate, executor);
+      for (int i = 0; i < 1_000; i++) {
+        update(service, "a", i);
+        update(service, "b", i);
+      }
+      service.close();
+
+      assertThat(service.getPendingUpdateCount()).isEqualTo(0L);
+      assertThat(service.getMailboxCount()).isEqualTo(0);
+      for (String id : List.of("a", "b")) {
+        List<Object> values = List.copyOf(processed.get(id));
+        assertThat(values).hasSize(1_000);
+        for (int i = 0; i < 1_000; i++) {
+          assertThat(values.get(i)).isEqualTo(i);
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void closeWaitsForThePendingUpdates() throws InterruptedException {
+    CountDownLatch processingStarted = new CountDownLatch(1);
+    CountDownLatch releaseProcessing = new CountDownLatch(1);
+    ValueUpdateService blockingDelegate = (devicePropertyValueType, value, timestamp, devicePropertyId, displayName) -> {
+      processingStarted.countDown();
+      try {
+        releaseProcessing.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      recordingDelegate.update(devicePropertyValueType, value, timestamp, devicePropertyId, displayName);
+    };
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      ExecutorValueUpdateService service = new ExecutorValueUpdateService(blockingDelegate, executor);
+      update(service, "a", 1);
+      update(service, "a", 2);
+      assertThat(processingStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      Thread closer = new Thread(service::close);
+      closer.start();
+      try {
+        closer.join(100);
+        assertThat(closer.isAlive()).isTrue();
+      } finally {
+        releaseProcessing.countDown();
+      }
+      closer.join(TimeUnit.SECONDS.toMillis(5));
+
+      assertThat(closer.isAlive()).isFalse();
+      assertThat(List.copyOf(processed.get("a"))).containsExactly(1, 2);
+      update(service, "a", 3);
+      assertThat(service.getFailedUpdateCount()).isEqualTo(1L);
+      assertThat(List.copyOf(processed.get("a"))).containsExactly(1, 2);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void rejectedUpdatesAreDroppedAndTheNextUpdateIsScheduledAgain() {
+    AtomicBoolean reject = new AtomicBoolean(true);
+    ExecutorValueUpdateService service = new ExecutorValueUpdateService(recordingDelegate, command -> {
+      if (reject.get()) {
+        throw new RejectedExecutionException("saturated");
+      }
+      command.run();
+    });
+
+    update(service, "a", 1);
+    reject.set(false);
+    update(service, "a", 2);
+
+    assertThat(service.getFailedUpdateCount()).isEqualTo(1L);
+    assertThat(service.getPendingUpdateCount()).isEqualTo(0L);
+    assertThat(service.getMailboxCount()).isEqualTo(0);
+    assertThat(List.copyOf(processed.get("a"))).containsExactly(2);
+  }
+
+  private void update(ExecutorValueUpdateService service, String id, int value) {
+    service.update(TEMPERATURE, value, TIMESTAMP, new DevicePropertyId(deviceId, id), id);
+  }
+}
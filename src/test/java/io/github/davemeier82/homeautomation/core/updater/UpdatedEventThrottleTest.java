@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater;
+
+import io.github.davemeier82.homeautomation.core.device.DeviceId;
+import io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyFactory;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueKey;
+import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
+import io.github.davemeier82.homeautomation.core.event.TemperatureChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.TemperatureUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.factory.DefaultEventFactory;
+import io.github.davemeier82.homeautomation.core.repositories.InMemoryDevicePropertyRepository;
+import io.github.davemeier82.homeautomation.core.repositories.InMemoryDevicePropertyValueRepository;
+import io.github.davemeier82.homeautomation.core.updater.defaults.DefaultTemperatureValueUpdateService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyValueType.TEMPERATURE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpdatedEventThrottleTest {
+
+  private static final OffsetDateTime TIMESTAMP = OffsetDateTime.parse("2024-01-01T00:00:00Z");
+
+  private final DevicePropertyId devicePropertyId = new DevicePropertyId(new DeviceId("1", () -> "test"), "temperature");
+  private final DevicePropertyValueKey key = new DevicePropertyValueKey(devicePropertyId, TEMPERATURE);
+
+  @Test
+  void eventsAboveTheLimitAreDelayedAndReplaced() throws InterruptedException {
+    Queue<Object> delayedEvents = new ConcurrentLinkedQueue<>();
+    CountDownLatch delayed = new CountDownLatch(1);
+    UpdatedEventThrottle.DelayedEventPublisher delayedEventPublisher = (k, pendingEvent) -> {
+      delayedEvents.add(pendingEvent.get());
+      delayed.countDown();
+    };
+    try (UpdatedEventThrottle throttle = new UpdatedEventThrottle(2, Duration.ofMillis(50))) {
+      assertThat(throttle.admit(key, "1", delayedEventPublisher)).isTrue();
+      assertThat(throttle.admit(key, "2", delayedEventPublisher)).isTrue();
+      assertThat(throttle.admit(key, "3", delayedEventPublisher)).isFalse();
+      assertThat(throttle.admit(key, "4", delayedEventPublisher)).isFalse();
+
+      assertThat(delayed.await(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(delayedEvents).containsExactly("4");
+      assertThat(throttle.getPublishedEventCount()).isEqualTo(3L);
+      assertThat(throttle.getDelayedEventCount()).isEqualTo(1L);
+      assertThat(throttle.getDroppedEventCount()).isEqualTo(1L);
+    }
+  }
+
+  @Test
+  void pendingEventThatWasTakenIsNotDelayed() {
+    Queue<Object> delayedEvents = new ConcurrentLinkedQueue<>();
+    UpdatedEventThrottle.DelayedEventPublisher delayedEventPublisher = (k, pendingEvent) -> delayedEvents.add(String.valueOf(pendingEvent.get()));
+    try (UpdatedEventThrottle throttle = new UpdatedEventThrottle(1, Duration.ofHours(1))) {
+      throttle.admit(key, "1", delayedEventPublisher);
+      throttle.admit(key, "2", delayedEventPublisher);
+
+      assertThat(throttle.takePendingEvent(key)).isEqualTo("2");
+      assertThat(throttle.takePendingEvent(key)).isNull();
+    }
+    // closing flushes, but nothing is pending anymore
+    assertThat(delayedEvents).isEmpty();
+  }
+
+  @Test
+  void noUpdatedEventArrivesAfterTheChangedEventOfALaterValue() {
+    Queue<DevicePropertyEvent<?>> events = new ConcurrentLinkedQueue<>();
+    try (UpdatedEventThrottle throttle = new UpdatedEventThrottle(1, Duration.ofMillis(2))) {
+      DefaultTemperatureValueUpdateService service = new DefaultTemperatureValueUpdateService(new InMemoryDevicePropertyValueRepository(),
+          new DevicePropertyCreator(new InMemoryDevicePropertyRepository(), new DefaultDevicePropertyFactory(), event -> {}, new DefaultEventFactory()),
+          event -> events.add((DevicePropertyEvent<?>) event),
+          new DefaultEventFactory(),
+          ValueUpdateOptions.defaults().withUpdatedEventThrottle(throttle));
+      for (int i = 0; i < 2_000; i++) {
+        // changes every tenth value
+        service.setValue((float) (i / 10), TIMESTAMP.plusSeconds(i), devicePropertyId, "temperature");
+        if (i % 100 == 0) {
+          LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(3));
+        }
+      }
+      throttle.flush();
+    }
+
+    List<DevicePropertyEvent<?>> received = List.copyOf(events);
+    assertThat(received.stream().filter(TemperatureUpdatedEvent.class::isInstance).count()).isLessThan(2_000L);
+    long lastChangedEpochMillis = Long.MIN_VALUE;
+    long lastUpdatedEpochMillis = Long.MIN_VALUE;
+    for (DevicePropertyEvent<?> event : received) {
+      long epochMillis = event.getNewEpochMillis();
+      if (event instanceof TemperatureChangedEvent) {
+        lastChangedEpochMillis = epochMillis;
+      } else {
+        assertThat(epochMillis).isGreaterThanOrEqualTo(lastChangedEpochMillis);
+        assertThat(epochMillis).isGreaterThan(lastUpdatedEpochMillis);
+        lastUpdatedEpochMillis = epochMillis;
+      }
+    }
+  }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.davemeier82.homeautomation.core.updater.defaults;
+
+import io.github.davemeier82.homeautomation.core.device.DeviceId;
+import io.github.davemeier82.homeautomation.core.device.property.DefaultDevicePropertyFactory;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyId;
+import io.github.davemeier82.homeautomation.core.device.property.DevicePropertyValueType;
+import io.github.davemeier82.homeautomation.core.event.DataWithTimestamp;
+import io.github.davemeier82.homeautomation.core.event.DevicePropertyEvent;
+import io.github.davemeier82.homeautomation.core.event.EventPublisher;
+import io.github.davemeier82.homeautomation.core.event.TemperatureChangedEvent;
+import io.github.davemeier82.homeautomation.core.event.TemperatureUpdatedEvent;
+import io.github.davemeier82.homeautomation.core.event.factory.DefaultEventFactory;
+import io.github.davemeier82.homeautomation.core.repositories.DevicePropertyValueRepository;
+import io.github.davemeier82.homeautomation.core.repositories.InMemoryDevicePropertyRepository;
+import io.github.davemeier82.homeautomation.core.repositories.InMemoryDevicePropertyValueRepository;
+import io.github.davemeier82.homeautomation.core.updater.DevicePropertyCreator;
+import io.github.davemeier82.homeautomation.core.updater.DuplicateSampleFilter;
+import io.github.davemeier82.homeautomation.core.updater.ValueUpdateOptions;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AbstractValueUpdateServiceTest {
+
+  private static final int THREADS = 8;
+  private static final int UPDATES_PER_THREAD = 5_000;
+  private static final OffsetDateTime TIMESTAMP = OffsetDateTime.parse("2024-01-01T00:00:00Z");
+
+  private final Queue<DevicePropertyEvent<?>> events = new ConcurrentLinkedQueue<>();
+  private final DefaultTemperatureValueUpdateService service = new DefaultTemperatureValueUpdateService(new EmptyDevicePropertyValueRepository(),
+      new DevicePropertyCreator(new InMemoryDevicePropertyRepository(), new DefaultDevicePropertyFactory(), event -> {}, new DefaultEventFactory()),
+      event -> events.add((DevicePropertyEvent<?>) event),
+      new DefaultEventFactory());
+
+  @Test
+  void concurrentUpdatesOfTheSamePropertyDoNotEmitDuplicateChangedEvents() throws InterruptedException {
+    DevicePropertyId devicePropertyId = new DevicePropertyId(new DeviceId("1", () -> "test"), "temperature");
+
+    runConcurrently(thread -> {
+      for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+        service.setValue((float) (thread * UPDATES_PER_THREAD + i), TIMESTAMP, devicePropertyId, "temperature");
+      }
+    });
+
+    List<DevicePropertyEvent<?>> updatedEvents = events.stream().filter(TemperatureUpdatedEvent.class::isInstance).toList();
+    List<DevicePropertyEvent<?>> changedEvents = events.stream().filter(TemperatureChangedEvent.class::isInstance).toList();
+    assertThat(updatedEvents).hasSize(THREADS * UPDATES_PER_THREAD);
+    assertThat(changedEvents).hasSize(THREADS * UPDATES_PER_THREAD);
+
+    Set<Object> previousValues = new HashSet<>();
+    Object lastValue = null;
+    for (DevicePropertyEvent<?> event : changedEvents) {
+      assertThat(event.getPreviousValue().orElse(null)).isEqualTo(lastValue);
+      assertThat(previousValues.add(event.getPreviousValue().orElse(null))).isTrue();
+      lastValue = event.getNewValue();
+    }
+  }
+
+  @Test
+  void updatesOfDifferentPropertiesAreIndependent() throws InterruptedException {
+    runConcurrently(thread -> {
+      DevicePropertyId devicePropertyId = new DevicePropertyId(new DeviceId(String.valueOf(thread), () -> "test"), "temperature");
+      for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+        service.setValue((float) (i % 2), TIMESTAMP, devicePropertyId, "temperature");
+      }
+    });
+
+    assertThat(events.stream().filter(TemperatureUpdatedEvent.class::isInstance)).hasSize(THREADS * UPDATES_PER_THREAD);
+    assertThat(events.stream().filter(TemperatureChangedEvent.class::isInstance)).hasSize(THREADS * UPDATES_PER_THREAD);
+  }
+
+  @Test
+  void listenerExceptionsReachTheCaller() {
+    DefaultTemperatureValueUpdateService failingService = temperatureService(event -> {
+      throw new IllegalStateException("listener failed");
+    });
+    DevicePropertyId devicePropertyId = new DevicePropertyId(new DeviceId("1", () -> "test"), "temperature");
+
+    IllegalStateException failure = null;
+    try {
+      failingService.setValue(20f, TIMESTAMP, devicePropertyId, "temperature");
+    } catch (IllegalStateException e) {
+      failure = e;
+    }
+
+    assertThat(failure).isNotNull();
+    // the updated and the changed event are both delivered, the second failure is suppressed
+    assertThat(failure.getSuppressed().length).isEqualTo(1);
+  }
+
+  @Test
+  void listenersCanUpdateOtherValuesConcurrently() throws InterruptedException {
+    DeviceId deviceId = new DeviceId("1", () -> "test");
+    DevicePropertyId[] sources = new DevicePropertyId[THREADS];
+    DevicePropertyId[] derived = new DevicePropertyId[THREADS];
+    for (int i = 0; i < THREADS; i++) {
+      sources[i] = new DevicePropertyId(deviceId, "source" + i);
+      derived[i] = new DevicePropertyId(deviceId, "derived" + i);
+    }
+    DefaultTemperatureValueUpdateService[] derivingService = new DefaultTemperatureValueUpdateService[1];
+    derivingService[0] = temperatureService(event -> {
+      events.add((DevicePropertyEvent<?>) event);
+      DevicePropertyEvent<?> devicePropertyEvent = (DevicePropertyEvent<?>) event;
+      int index = devicePropertyEvent.getDevicePropertyId().id().startsWith("source") ? Integer.parseInt(devicePropertyEvent.getDevicePropertyId().id().substring(6)) : -1;
+      if (index >= 0 && event instanceof TemperatureChangedEvent) {
+        // the derived property of the neighbour is in another stripe that is published by another thread
+        derivingService[0].setValue((Float) devicePropertyEvent.getNewValue(), TIMESTAMP, derived[(index + 1) % THREADS], "derived");
+      }
+    });
+
+    runConcurrently(thread -> {
+      for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+        derivingService[0].setValue((float) i, TIMESTAMP, sources[thread], "source");
+      }
+    });
+
+    List<Object> derivedValues = events.stream()
+        .filter(event -> event instanceof TemperatureChangedEvent && event.getDevicePropertyId().equals(derived[1]))
+        .map(event -> (Object) event.getNewValue())
+        .toList();
+    assertThat(derivedValues).hasSize(UPDATES_PER_THREAD);
+    for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+      assertThat(derivedValues.get(i)).isEqualTo((float) i);
+    }
+  }
+
+  @Test
+  void duplicateIsOnlyDroppedAfterTheUpdateSucceeded() {
+    AtomicBoolean failLookup = new AtomicBoolean(true);
+    EmptyDevicePropertyValueRepository repository = new EmptyDevicePropertyValueRepository() {
+      @Override
+      public <T> Optional<DataWithTimestamp<T>> findLatestValue(DevicePropertyId devicePropertyId, DevicePropertyValueType devicePropertyValueType, Class<T> clazz) {
+        if (failLookup.getAndSet(false)) {
+          throw new IllegalStateException("database not available");
+        }
+        return super.findLatestValue(devicePropertyId, devicePropertyValueType, clazz);
+      }
+    };
+    DuplicateSampleFilter duplicateSampleFilter = new DuplicateSampleFilter(4);
+    DefaultTemperatureValueUpdateService filteringService = new DefaultTemperatureValueUpdateService(repository,
+        new DevicePropertyCreator(new InMemoryDevicePropertyRepository(), new DefaultDevicePropertyFactory(), event -> {}, new DefaultEventFactory()),
+        event -> events.add((DevicePropertyEvent<?>) event),
+        new DefaultEventFactory(),
+        ValueUpdateOptions.defaults().withDuplicateSampleFilter(duplicateSampleFilter));
+    DevicePropertyId devicePropertyId = new DevicePropertyId(new DeviceId("1", () -> "test"), "temperature");
+
+    IllegalStateException failure = null;
+    try {
+      filteringService.setValue(20f, TIMESTAMP, devicePropertyId, "temperature");
+    } catch (IllegalStateException e) {
+      failure = e;
+    }
+    assertThat(failure).isNotNull();
+
+    // the redelivery of the failed sample is applied, a second redelivery is dropped
+    filteringService.setValue(20f, TIMESTAMP, devicePropertyId, "temperature");
+    filteringService.setValue(20f, TIMESTAMP, devicePropertyId, "temperature");
+
+    assertThat(events.stream().filter(TemperatureUpdatedEvent.class::isInstance).count()).isEqualTo(1L);
+    assertThat(duplicateSampleFilter.getDuplicateSampleCount()).isEqualTo(1L);
+  }
+
+  @Test
+  void lateSampleIsPersistedWithoutReplacingTheLatestValue() {
+    InMemoryDevicePropertyValueRepository repository = new InMemoryDevicePropertyValueRepository();
+    DefaultTemperatureValueUpdateService persistingService = new DefaultTemperatureValueUpdateService(repository,
+        new DevicePropertyCreator(new InMemoryDevicePropertyRepository(), new DefaultDevicePropertyFactory(), event -> {}, new DefaultEventFactory()),
+        event -> events.add((DevicePropertyEvent<?>) event),
+        new DefaultEventFactory());
+    DevicePropertyId devicePropertyId = new DevicePropertyId(new DeviceId("1", () -> "test"), "temperature");
+
+    persistingService.setValue(21f, TIMESTAMP.plusMinutes(1), devicePropertyId, "temperature");
+    persistingService.setValue(20f, TIMESTAMP, devicePropertyId, "temperature");
+
+    assertThat(persistingService.getLateSampleCount()).isEqualTo(1L);
+    assertThat(repository.getValues()).hasSize(1);
+    assertThat(repository.getValues().get(0).data().getValue()).isEqualTo(20f);
+    assertThat(persistingService.getWatermark(devicePropertyId).orElse(null)).isEqualTo(TIMESTAMP.plusMinutes(1));
+    // only the first sample was published
+    assertThat(events.stream().filter(TemperatureUpdatedEvent.class::isInstance).count()).isEqualTo(1L);
+  }
+
+  private static DefaultTemperatureValueUpdateService temperatureService(EventPublisher eventPublisher) {
+    return new DefaultTemperatureValueUpdateService(new EmptyDevicePropertyValueRepository(),
+        new DevicePropertyCreator(new InMemoryDevicePropertyRepository(), new DefaultDevicePropertyFactory(), event -> {}, new DefaultEventFactory()),
+        eventPublisher,
+        new DefaultEventFactory());
+  }
+
+  private static void runConcurrently(ThreadBody body) throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Integer> threads = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      threads.add(i);
+    }
+    threads.forEach(thread -> executor.execute(() -> {
+      try {
+        start.await();
+        body.run(thread);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }));
+    start.countDown();
+    executor.shutdown();
+    assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+  }
+
+  private interface ThreadBody {
+    void run(int thread);
+  }
+
+  private static class EmptyDevicePropertyValueRepository implements DevicePropertyValueRepository {
+
+    @Override
+    public void insert(DevicePropertyId devicePropertyId, DevicePropertyValueType devicePropertyValueType, String displayName, Object value, OffsetDateTime time) {
+    }
+
+    @Override
+    public <T> Optional<DataWithTimestamp<T>> findLatestValue(DevicePropertyId devicePropertyId, DevicePropertyValueType devicePropertyValueType, Class<T> clazz) {
+      return Optional.empty();
+    }
+
+    @Override
+    public Optional<OffsetDateTime> lastTimeValueMatched(DevicePropertyId devicePropertyId, DevicePropertyValueType devicePropertyValueType, Object value) {
+      return Optional.empty();
+    }
+  }
+}